@@ -7,6 +7,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
 /**
@@ -14,6 +15,7 @@ import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
  * CommandLineRunner 인터페이스를 구현하여 애플리케이션이 시작될 때 실행되는 로직을 포함합니다.
  */
 @SpringBootApplication
+@ConfigurationPropertiesScan
 public class SpringsecurityApplication implements CommandLineRunner {
 
 	@Autowired
@@ -0,0 +1,30 @@
+package com.codewithprojects.springsecurity.audit;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.nio.file.Path;
+
+/**
+ * 감사 이벤트 기록 대상(AuditWriter)을 설정값에 따라 구성하는 클래스입니다.
+ */
+@Configuration
+public class AuditConfiguration {
+
+    /**
+     * auth.audit.sink 값에 맞는 AuditWriter 빈을 생성합니다.
+     *
+     * @param properties 감사 설정
+     * @param jdbcTemplate sink 가 jdbc 일 때 사용할 JdbcTemplate
+     * @return 구성된 AuditWriter 객체입니다.
+     */
+    @Bean
+    public AuditWriter auditWriter(AuthAuditProperties properties, ObjectProvider<JdbcTemplate> jdbcTemplate) {
+        if (properties.getSink() == AuthAuditProperties.Sink.FILE) {
+            return new FileAuditWriter(Path.of(properties.getDirectory()));
+        }
+        return new JdbcAuditWriter(jdbcTemplate.getObject());
+    }
+}
@@ -0,0 +1,118 @@
+package com.codewithprojects.springsecurity.audit;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * AuditRingBuffer 클래스는 고정 크기의 lock-free 링 버퍼입니다.
+ *
+ * 슬롯마다 시퀀스 번호를 두는 방식(Vyukov bounded queue)으로, 여러 요청 스레드가 CAS 만으로
+ * 이벤트를 넣고 writer 스레드가 꺼냅니다. 버퍼가 가득 차면 offer 는 대기하지 않고 즉시 false 를 반환합니다.
+ *
+ * @param <E> 버퍼에 담는 원소 타입
+ */
+final class AuditRingBuffer<E> {
+
+    private final int mask;
+    private final AtomicReferenceArray<E> slots;
+    private final AtomicLongArray sequences;
+    private final AtomicLong enqueuePosition = new AtomicLong();
+    private final AtomicLong dequeuePosition = new AtomicLong();
+
+    /**
+     * @param requestedCapacity 원하는 용량. 2의 거듭제곱으로 올림됩니다.
+     */
+    AuditRingBuffer(int requestedCapacity) {
+        if (requestedCapacity < 2) {
+            throw new IllegalArgumentException("capacity must be at least 2");
+        }
+        int capacity = Integer.highestOneBit(requestedCapacity - 1) << 1;
+        this.mask = capacity - 1;
+        this.slots = new AtomicReferenceArray<>(capacity);
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * 원소를 버퍼에 넣습니다. 호출 스레드를 절대 블록하지 않습니다.
+     *
+     * @param element 넣을 원소
+     * @return 넣었으면 true, 버퍼가 가득 찼으면 false
+     */
+    boolean offer(E element) {
+        long position = enqueuePosition.get();
+        for (;;) {
+            int index = (int) (position & mask);
+            long diff = sequences.get(index) - position;
+            if (diff == 0) {
+                if (enqueuePosition.compareAndSet(position, position + 1)) {
+                    slots.set(index, element);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+                position = enqueuePosition.get();
+            } else if (diff < 0) {
+                return false;
+            } else {
+                position = enqueuePosition.get();
+            }
+        }
+    }
+
+    /**
+     * 원소 하나를 꺼냅니다.
+     *
+     * @return 꺼낸 원소, 버퍼가 비어 있으면 null
+     */
+    E poll() {
+        long position = dequeuePosition.get();
+        for (;;) {
+            int index = (int) (position & mask);
+            long diff = sequences.get(index) - (position + 1);
+            if (diff == 0) {
+                if (dequeuePosition.compareAndSet(position, position + 1)) {
+                    E element = slots.get(index);
+                    slots.set(index, null);
+                    sequences.set(index, position + mask + 1);
+                    return element;
+                }
+                position = dequeuePosition.get();
+            } else if (diff < 0) {
+                return null;
+            } else {
+                position = dequeuePosition.get();
+            }
+        }
+    }
+
+    /**
+     * 최대 maxElements 개의 원소를 꺼내 target 에 추가합니다.
+     *
+     * @return 꺼낸 원소 수
+     */
+    int drainTo(List<? super E> target, int maxElements) {
+        int drained = 0;
+        E element;
+        while (drained < maxElements && (element = poll()) != null) {
+            target.add(element);
+            drained++;
+        }
+        return drained;
+    }
+
+    /**
+     * 현재 담긴 원소 수의 근사값입니다.
+     */
+    int size() {
+        long size = enqueuePosition.get() - dequeuePosition.get();
+        return (int) Math.max(0, Math.min(size, mask + 1L));
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+}
@@ -0,0 +1,24 @@
+package com.codewithprojects.springsecurity.audit;
+
+import java.util.List;
+
+/**
+ * AuditWriter 인터페이스는 감사 이벤트 묶음을 저장소에 기록하는 방법을 정의합니다.
+ * 구현체는 백그라운드 writer 스레드 하나에서만 호출되므로 스레드 안전할 필요가 없습니다.
+ */
+public interface AuditWriter extends AutoCloseable {
+
+    /**
+     * 이벤트 묶음을 기록합니다. 실패하면 런타임 예외를 던집니다.
+     *
+     * @param batch 기록할 이벤트 목록 (비어 있지 않음)
+     */
+    void write(List<AuthAuditEvent> batch);
+
+    /**
+     * 애플리케이션 종료 시 열려 있는 자원을 정리합니다.
+     */
+    @Override
+    default void close() {
+    }
+}
@@ -0,0 +1,18 @@
+package com.codewithprojects.springsecurity.audit;
+
+import lombok.Value;
+
+import java.time.Instant;
+
+/**
+ * AuthAuditEvent 클래스는 감사 로그에 기록될 인증 이벤트 한 건을 표현합니다.
+ * 요청 스레드에서 만들어져 백그라운드 writer 로 전달되므로 불변 객체로 유지합니다.
+ */
+@Value
+public class AuthAuditEvent {
+    AuthAuditEventType type;   // 이벤트 종류
+    String principal;          // 사용자 이메일 (알 수 없으면 null)
+    String remoteAddress;      // 요청 IP (알 수 없으면 null)
+    String detail;             // 실패 사유 등 부가 정보
+    Instant occurredAt;        // 이벤트 발생 시각
+}
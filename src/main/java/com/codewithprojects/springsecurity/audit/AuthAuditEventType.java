@@ -0,0 +1,13 @@
+package com.codewithprojects.springsecurity.audit;
+
+/**
+ * 감사 로그에 남기는 인증 이벤트의 종류입니다.
+ */
+public enum AuthAuditEventType {
+    SIGNUP,
+    SIGNIN_SUCCESS,
+    SIGNIN_FAILURE,
+    TOKEN_REFRESH,
+    TOKEN_REFRESH_FAILURE,
+    TOKEN_REJECTED;
+}
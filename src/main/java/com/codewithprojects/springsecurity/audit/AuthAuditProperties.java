@@ -0,0 +1,50 @@
+package com.codewithprojects.springsecurity.audit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * AuthAuditProperties 클래스는 인증 감사 파이프라인 설정을 담습니다.
+ * "auth.audit" 접두사로 application.yml 에서 값을 주입받습니다.
+ */
+@Data
+@ConfigurationProperties(prefix = "auth.audit")
+public class AuthAuditProperties {
+
+    /**
+     * 감사 이벤트 수집 여부.
+     */
+    private boolean enabled = true;
+
+    /**
+     * 링 버퍼 용량. 가득 차면 새 이벤트는 버려지고 dropped 카운터가 증가합니다.
+     */
+    private int capacity = 8192;
+
+    /**
+     * writer 가 한 번에 기록하는 최대 이벤트 수.
+     */
+    private int batchSize = 256;
+
+    /**
+     * 배치가 차지 않았을 때 writer 가 다음 기록까지 기다리는 시간.
+     */
+    private Duration flushInterval = Duration.ofSeconds(1);
+
+    /**
+     * 기록 대상: jdbc 또는 file.
+     */
+    private Sink sink = Sink.JDBC;
+
+    /**
+     * sink 가 file 일 때 감사 파일을 남길 디렉터리.
+     */
+    private String directory = "logs/audit";
+
+    public enum Sink {
+        JDBC,
+        FILE;
+    }
+}
@@ -0,0 +1,178 @@
+package com.codewithprojects.springsecurity.audit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * AuthAuditPublisher 클래스는 인증 감사 이벤트를 비동기로 기록합니다.
+ *
+ * 요청 스레드는 publish() 로 이벤트를 lock-free 링 버퍼에 넣기만 하고 곧바로 돌아갑니다.
+ * 백그라운드 writer 스레드 하나가 버퍼를 비우며 batchSize 단위로 AuditWriter 에 기록합니다.
+ * 버퍼가 가득 차면 이벤트를 버리고 dropped 카운터를 올리며, 요청 스레드를 블록하지 않습니다.
+ * 버퍼에 한 배치 이상이 쌓이면 writer 를 즉시 깨워 flushInterval 을 기다리지 않게 합니다.
+ */
+@Slf4j
+@Component
+public class AuthAuditPublisher implements SmartLifecycle {
+
+    private final AuthAuditProperties properties;
+    private final AuditWriter writer;
+    private final AuditRingBuffer<AuthAuditEvent> buffer;
+
+    private final LongAdder published = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder written = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+
+    private volatile Thread writerThread;
+    private volatile boolean running;
+
+    public AuthAuditPublisher(AuthAuditProperties properties, AuditWriter writer) {
+        this.properties = properties;
+        this.writer = writer;
+        this.buffer = new AuditRingBuffer<>(properties.getCapacity());
+    }
+
+    /**
+     * 감사 이벤트를 버퍼에 넣습니다. 호출 스레드를 블록하지 않습니다.
+     *
+     * @param type 이벤트 종류
+     * @param principal 사용자 이메일 (알 수 없으면 null)
+     * @param remoteAddress 요청 IP (알 수 없으면 null)
+     * @param detail 실패 사유 등 부가 정보 (없으면 null)
+     */
+    public void publish(AuthAuditEventType type, String principal, String remoteAddress, String detail) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        if (buffer.offer(new AuthAuditEvent(type, principal, remoteAddress, detail, Instant.now()))) {
+            published.increment();
+            if (buffer.size() >= properties.getBatchSize()) {
+                Thread thread = writerThread;
+                if (thread != null) {
+                    LockSupport.unpark(thread);
+                }
+            }
+        } else {
+            dropped.increment();
+            long droppedCount = dropped.sum();
+            // 로그 폭주를 막기 위해 1, 2, 4, 8 ... 번째 유실 때만 경고합니다.
+            if ((droppedCount & (droppedCount - 1)) == 0) {
+                log.warn("Audit buffer full (capacity {}), {} events dropped so far", buffer.capacity(), droppedCount);
+            }
+        }
+    }
+
+    public long getPublishedCount() {
+        return published.sum();
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    public long getWrittenCount() {
+        return written.sum();
+    }
+
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    public int getQueueDepth() {
+        return buffer.size();
+    }
+
+    @Override
+    public void start() {
+        if (!properties.isEnabled() || running) {
+            return;
+        }
+        running = true;
+        Thread thread = new Thread(this::drainLoop, "auth-audit-writer");
+        thread.setDaemon(true);
+        writerThread = thread;
+        thread.start();
+    }
+
+    /**
+     * writer 스레드를 멈춥니다. AuditWriter 는 스레드 안전하지 않으므로 close 는 writer 스레드가
+     * 남은 이벤트를 모두 기록한 뒤 직접 호출하며, 여기서는 기다리기만 합니다.
+     */
+    @Override
+    public void stop() {
+        running = false;
+        Thread thread = writerThread;
+        if (thread == null) {
+            writer.close();
+            return;
+        }
+        LockSupport.unpark(thread);
+        try {
+            thread.join(TimeUnit.SECONDS.toMillis(5));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (thread.isAlive()) {
+            log.warn("Audit writer did not finish within 5s, {} events still queued; it will close the writer when done",
+                    buffer.size());
+        }
+        writerThread = null;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * 웹 서버가 먼저 멈춘 뒤 남은 이벤트를 기록할 수 있도록 늦게 종료되는 phase 를 사용합니다.
+     */
+    @Override
+    public int getPhase() {
+        return SmartLifecycle.DEFAULT_PHASE - 4096;
+    }
+
+    private void drainLoop() {
+        List<AuthAuditEvent> batch = new ArrayList<>(properties.getBatchSize());
+        long flushIntervalNanos = properties.getFlushInterval().toNanos();
+        try {
+            while (running) {
+                if (drainOnce(batch) < properties.getBatchSize()) {
+                    LockSupport.parkNanos(this, flushIntervalNanos);
+                }
+            }
+            // 종료 시 버퍼에 남은 이벤트를 모두 기록합니다.
+            int drained;
+            do {
+                drained = drainOnce(batch);
+            } while (drained > 0);
+        } finally {
+            writer.close();
+        }
+    }
+
+    private int drainOnce(List<AuthAuditEvent> batch) {
+        batch.clear();
+        int count = buffer.drainTo(batch, properties.getBatchSize());
+        if (count == 0) {
+            return 0;
+        }
+        try {
+            writer.write(batch);
+            written.add(count);
+        } catch (RuntimeException e) {
+            failed.add(count);
+            log.warn("Failed to write {} audit events", count, e);
+        }
+        return count;
+    }
+}
@@ -0,0 +1,78 @@
+package com.codewithprojects.springsecurity.audit;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * FileAuditWriter 클래스는 감사 이벤트를 로컬 디렉터리의 append-only 파일에 기록합니다.
+ * 파일은 날짜(UTC)별로 나뉘며(auth-audit-yyyy-MM-dd.log), 한 줄에 이벤트 하나를 탭으로 구분해 남깁니다.
+ */
+public class FileAuditWriter implements AuditWriter {
+
+    private final Path directory;
+
+    private LocalDate currentDate;
+    private BufferedWriter out;
+
+    public FileAuditWriter(Path directory) {
+        this.directory = directory;
+    }
+
+    @Override
+    public void write(List<AuthAuditEvent> batch) {
+        try {
+            for (AuthAuditEvent event : batch) {
+                writerFor(LocalDate.ofInstant(event.getOccurredAt(), ZoneOffset.UTC))
+                        .append(event.getOccurredAt().toString()).append('\t')
+                        .append(event.getType().name()).append('\t')
+                        .append(sanitize(event.getPrincipal())).append('\t')
+                        .append(sanitize(event.getRemoteAddress())).append('\t')
+                        .append(sanitize(event.getDetail())).append('\n');
+            }
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() {
+        if (out != null) {
+            try {
+                out.close();
+            } catch (IOException ignored) {
+                // 종료 중이므로 무시합니다.
+            }
+            out = null;
+        }
+    }
+
+    /**
+     * 이벤트 날짜에 맞는 파일 writer 를 반환합니다. 날짜가 바뀌면 새 파일로 넘어갑니다.
+     */
+    private BufferedWriter writerFor(LocalDate date) throws IOException {
+        if (out == null || !date.equals(currentDate)) {
+            close();
+            Files.createDirectories(directory);
+            out = Files.newBufferedWriter(directory.resolve("auth-audit-" + date + ".log"), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            currentDate = date;
+        }
+        return out;
+    }
+
+    private static String sanitize(String value) {
+        if (value == null) {
+            return "-";
+        }
+        return value.replace('\t', ' ').replace('\n', ' ').replace('\r', ' ');
+    }
+}
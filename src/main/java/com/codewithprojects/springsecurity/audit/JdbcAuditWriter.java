@@ -0,0 +1,39 @@
+package com.codewithprojects.springsecurity.audit;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JdbcAuditWriter 클래스는 감사 이벤트 묶음을 auth_audit_log 테이블에 JDBC 배치 insert 로 기록합니다.
+ * 테이블은 AuthAuditLog 엔티티를 통해 생성됩니다.
+ *
+ * MySQL Connector/J 는 기본적으로 배치의 INSERT 를 한 건씩 보내므로, 묶음이 한 번의 다중 행 INSERT 로 전송되려면
+ * datasource url 에 rewriteBatchedStatements=true 가 있어야 합니다 (application.yml 참고).
+ */
+@RequiredArgsConstructor
+public class JdbcAuditWriter implements AuditWriter {
+
+    private static final String INSERT_SQL =
+            "insert into auth_audit_log (event_type, principal, remote_address, detail, occurred_at) values (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void write(List<AuthAuditEvent> batch) {
+        List<Object[]> rows = new ArrayList<>(batch.size());
+        for (AuthAuditEvent event : batch) {
+            rows.add(new Object[]{
+                    event.getType().name(),
+                    event.getPrincipal(),
+                    event.getRemoteAddress(),
+                    event.getDetail(),
+                    Timestamp.from(event.getOccurredAt())
+            });
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+    }
+}
@@ -0,0 +1,153 @@
+package com.codewithprojects.springsecurity.cache;
+
+import com.codewithprojects.springsecurity.invalidation.InvalidationBus;
+import com.codewithprojects.springsecurity.invalidation.InvalidationType;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * AuthorizedResponseCache 클래스는 인증된 GET 응답을 사용자(파티션)별로 나누어 보관합니다.
+ *
+ * 파티션 키는 사용자 이름과 권한 목록으로 만들어지므로, 한 사용자의 응답이 다른 사용자나
+ * 권한이 바뀐 같은 사용자에게 반환되지 않습니다.
+ * 사용자 정보 변경이나 토큰 폐기 이벤트를 받으면 해당 사용자의 파티션을 비웁니다.
+ *
+ * 파티션 수가 maxPartitions 에 도달하면 ttl 이상 사용되지 않은(모든 항목이 만료된) 파티션을 먼저 제거하고,
+ * 그래도 가득 차 있으면 가장 오래 사용되지 않은 파티션부터 일부를 제거하여 새 사용자의 자리를 만듭니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class AuthorizedResponseCache {
+
+    private static final char PARTITION_SEPARATOR = '|';
+
+    private final ResponseCacheProperties properties;
+    private final InvalidationBus invalidationBus;
+
+    private final ConcurrentHashMap<String, Partition> partitions = new ConcurrentHashMap<>();
+
+    /**
+     * 한 사용자·권한 조합의 응답들. lastAccessNanos 는 마지막으로 조회하거나 넣은 시각입니다.
+     */
+    private static final class Partition {
+        final ConcurrentHashMap<String, CachedResponse> entries = new ConcurrentHashMap<>();
+        volatile long lastAccessNanos = System.nanoTime();
+    }
+
+    @PostConstruct
+    void subscribeInvalidations() {
+        invalidationBus.subscribe(event -> {
+            if (event.getType() == InvalidationType.USER || event.getType() == InvalidationType.TOKEN_REVOCATION) {
+                evictUser(event.getKey());
+            }
+        });
+    }
+
+    /**
+     * 사용자 이름과 권한 목록으로 파티션 키를 만듭니다.
+     *
+     * @param username 사용자 이름
+     * @param authorities 정렬된 권한 문자열
+     * @return 파티션 키
+     */
+    static String partitionKey(String username, String authorities) {
+        return username + PARTITION_SEPARATOR + authorities;
+    }
+
+    /**
+     * 캐시된 응답을 찾습니다. 만료된 항목은 제거합니다.
+     *
+     * @param partition 파티션 키
+     * @param key 요청 키 (URI + 쿼리)
+     * @return 캐시된 응답, 없거나 만료되었으면 null
+     */
+    public CachedResponse get(String partition, String key) {
+        Partition entries = partitions.get(partition);
+        if (entries == null) {
+            return null;
+        }
+        long now = System.nanoTime();
+        entries.lastAccessNanos = now;
+        CachedResponse cached = entries.entries.get(key);
+        if (cached != null && cached.isExpired(now)) {
+            entries.entries.remove(key, cached);
+            return null;
+        }
+        return cached;
+    }
+
+    /**
+     * 응답을 캐시에 넣습니다. 파티션 수가 한도에 도달했으면 오래 사용되지 않은 파티션을 제거한 뒤 넣습니다.
+     *
+     * @param partition 파티션 키
+     * @param key 요청 키 (URI + 쿼리)
+     * @param response 캐시할 응답
+     */
+    public void put(String partition, String key, CachedResponse response) {
+        Partition entries = partitions.get(partition);
+        if (entries == null) {
+            if (partitions.size() >= properties.getMaxPartitions()) {
+                evictIdlePartitions();
+            }
+            entries = partitions.computeIfAbsent(partition, p -> new Partition());
+        }
+        long now = System.nanoTime();
+        entries.lastAccessNanos = now;
+        if (entries.entries.size() >= properties.getMaxEntriesPerPartition()) {
+            entries.entries.values().removeIf(cached -> cached.isExpired(now));
+            if (entries.entries.size() >= properties.getMaxEntriesPerPartition()) {
+                entries.entries.clear();
+            }
+        }
+        entries.entries.put(key, response);
+    }
+
+    /**
+     * ttl 이상 사용되지 않은 파티션을 제거합니다. 그래도 한도에 도달해 있으면
+     * 가장 오래 사용되지 않은 파티션부터 한도의 10% 를 제거하여, 파티션이 가득 찰 때마다 전체를 훑지 않도록 합니다.
+     */
+    private void evictIdlePartitions() {
+        long idleBefore = System.nanoTime() - properties.getTtl().toNanos();
+        partitions.values().removeIf(entries -> entries.lastAccessNanos - idleBefore < 0);
+        int excess = partitions.size() - properties.getMaxPartitions() + 1;
+        if (excess <= 0) {
+            return;
+        }
+        int count = Math.max(excess, properties.getMaxPartitions() / 10);
+        partitions.entrySet().stream()
+                .sorted(Comparator.comparingLong(entry -> entry.getValue().lastAccessNanos))
+                .limit(count)
+                .map(Map.Entry::getKey)
+                .toList()
+                .forEach(partitions::remove);
+    }
+
+    /**
+     * 현재 보관 중인 파티션 수. 테스트에서 파티션 제거 동작을 확인하는 데 사용합니다.
+     */
+    int partitionCount() {
+        return partitions.size();
+    }
+
+    /**
+     * 한 사용자의 모든 파티션을 비웁니다. 권한 변경이나 로그아웃 시 사용됩니다.
+     *
+     * @param username 사용자 이름
+     */
+    public void evictUser(String username) {
+        String prefix = username + PARTITION_SEPARATOR;
+        partitions.keySet().removeIf(partition -> partition.startsWith(prefix));
+    }
+
+    /**
+     * 모든 캐시를 비웁니다.
+     */
+    public void evictAll() {
+        partitions.clear();
+    }
+}
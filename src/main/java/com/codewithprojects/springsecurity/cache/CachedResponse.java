@@ -0,0 +1,18 @@
+package com.codewithprojects.springsecurity.cache;
+
+import lombok.Value;
+
+/**
+ * CachedResponse 클래스는 캐시에 보관되는 GET 응답 한 건입니다.
+ */
+@Value
+public class CachedResponse {
+    byte[] body;            // 응답 본문
+    String contentType;     // 응답 Content-Type
+    String etag;            // 본문으로부터 계산한 ETag
+    long expiresAtNanos;    // System.nanoTime() 기준 만료 시각
+
+    boolean isExpired(long nowNanos) {
+        return nowNanos - expiresAtNanos >= 0;
+    }
+}
@@ -0,0 +1,169 @@
+package com.codewithprojects.springsecurity.cache;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.authentication.AuthenticationTrustResolver;
+import org.springframework.security.authentication.AuthenticationTrustResolverImpl;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import java.io.IOException;
+import java.util.stream.Collectors;
+
+/**
+ * ConditionalResponseCacheFilter는 인증된 GET 요청의 응답을 캐시하고 조건부 요청을 처리하는 필터입니다.
+ *
+ * 이 필터는 스프링 시큐리티 필터 체인 뒤에서 실행되므로 SecurityContext에 인증 정보가 설정된 상태입니다.
+ * 캐시 대상 경로의 200 응답은 본문으로 ETag를 계산해 사용자/권한별 파티션에 보관하고,
+ * 이후 같은 요청이 오면 컨트롤러를 호출하지 않고 캐시된 본문 또는 304 Not Modified로 응답합니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class ConditionalResponseCacheFilter extends OncePerRequestFilter {
+
+    private static final String CACHE_CONTROL_VALUE = "private, no-cache";
+
+    private final ResponseCacheProperties properties;
+    private final AuthorizedResponseCache cache;
+
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+    private final AuthenticationTrustResolver trustResolver = new AuthenticationTrustResolverImpl();
+
+    /**
+     * 캐시가 꺼져 있거나, GET 요청이 아니거나, 캐시 대상 경로가 아니면 필터를 건너뜁니다.
+     */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        if (!properties.isEnabled() || !HttpMethod.GET.matches(request.getMethod())) {
+            return true;
+        }
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        for (String pattern : properties.getPaths()) {
+            if (pathMatcher.match(pattern, path)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 캐시된 응답이 있으면 컨트롤러 호출 없이 응답하고, 없으면 응답을 가로채 캐시에 저장합니다.
+     *
+     * @param request HttpServletRequest 객체로, 현재 HTTP 요청 정보를 담고 있습니다.
+     * @param response HttpServletResponse 객체로, 현재 HTTP 응답 정보를 담고 있습니다.
+     * @param filterChain FilterChain 객체로, 필터 체인을 통해 요청/응답을 다음 단계로 전달합니다.
+     * @throws ServletException 요청 처리 중 발생할 수 있는 예외
+     * @throws IOException 입출력 처리 중 발생할 수 있는 예외
+     */
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+        // 인증되지 않은 요청은 캐시하지 않음
+        if (authentication == null || !authentication.isAuthenticated() || trustResolver.isAnonymous(authentication)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        String partition = AuthorizedResponseCache.partitionKey(authentication.getName(), authorities(authentication));
+        String key = requestKey(request);
+
+        // 캐시 적중: 컨트롤러를 호출하지 않고 304 또는 캐시된 본문으로 응답
+        CachedResponse cached = cache.get(partition, key);
+        if (cached != null) {
+            writeCached(request, response, cached);
+            return;
+        }
+
+        // 캐시 미스: 응답 본문을 버퍼링하여 ETag 계산 후 캐시에 저장
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, wrapper);
+
+        if (wrapper.getStatus() != HttpServletResponse.SC_OK || response.isCommitted()) {
+            wrapper.copyBodyToResponse();
+            return;
+        }
+
+        byte[] body = wrapper.getContentAsByteArray();
+        CachedResponse fresh = new CachedResponse(body, wrapper.getContentType(), generateETag(body),
+                System.nanoTime() + properties.getTtl().toNanos());
+        cache.put(partition, key, fresh);
+
+        response.setHeader(HttpHeaders.ETAG, fresh.getEtag());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL_VALUE);
+        if (etagMatches(request, fresh.getEtag())) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        wrapper.copyBodyToResponse();
+    }
+
+    /**
+     * 캐시된 응답을 씁니다. If-None-Match가 ETag와 일치하면 본문 없이 304로 응답합니다.
+     */
+    private void writeCached(HttpServletRequest request, HttpServletResponse response, CachedResponse cached) throws IOException {
+        response.setHeader(HttpHeaders.ETAG, cached.getEtag());
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL_VALUE);
+        if (etagMatches(request, cached.getEtag())) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+        response.setStatus(HttpServletResponse.SC_OK);
+        if (cached.getContentType() != null) {
+            response.setContentType(cached.getContentType());
+        }
+        response.setContentLength(cached.getBody().length);
+        response.getOutputStream().write(cached.getBody());
+    }
+
+    /**
+     * If-None-Match 헤더에 주어진 ETag가 포함되어 있는지 확인합니다. 약한 비교(W/ 무시)를 사용합니다.
+     */
+    private static boolean etagMatches(HttpServletRequest request, String etag) {
+        String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+        if (!StringUtils.hasText(ifNoneMatch)) {
+            return false;
+        }
+        for (String candidate : StringUtils.commaDelimitedListToStringArray(ifNoneMatch)) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if ("*".equals(value) || etag.equals(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 응답 본문의 MD5 해시로 ETag를 생성합니다.
+     */
+    private static String generateETag(byte[] body) {
+        return "\"0" + DigestUtils.md5DigestAsHex(body) + '"';
+    }
+
+    private static String requestKey(HttpServletRequest request) {
+        String query = request.getQueryString();
+        return query == null ? request.getRequestURI() : request.getRequestURI() + '?' + query;
+    }
+
+    private static String authorities(Authentication authentication) {
+        return authentication.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .sorted()
+                .collect(Collectors.joining(","));
+    }
+}
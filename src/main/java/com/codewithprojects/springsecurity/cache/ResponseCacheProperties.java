@@ -0,0 +1,42 @@
+package com.codewithprojects.springsecurity.cache;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * ResponseCacheProperties 클래스는 인증된 GET 응답 캐시 설정을 담습니다.
+ * "auth.response-cache" 접두사로 application.yml 에서 값을 주입받습니다.
+ */
+@Data
+@ConfigurationProperties(prefix = "auth.response-cache")
+public class ResponseCacheProperties {
+
+    /**
+     * 응답 캐시 사용 여부.
+     */
+    private boolean enabled = true;
+
+    /**
+     * 캐시된 응답의 유효 시간. 이 시간이 지나면 컨트롤러를 다시 호출합니다.
+     */
+    private Duration ttl = Duration.ofSeconds(30);
+
+    /**
+     * 캐시 대상 경로 패턴 (Ant 스타일).
+     */
+    private List<String> paths = new ArrayList<>(List.of("/api/v1/admin", "/api/v1/user/**"));
+
+    /**
+     * 캐시할 최대 사용자(파티션) 수. 도달하면 오래 사용되지 않은 파티션을 제거하고 새 사용자의 응답을 캐시합니다.
+     */
+    private int maxPartitions = 10_000;
+
+    /**
+     * 사용자 한 명당 캐시할 최대 응답 수. 넘으면 만료된 응답을 제거하고, 그래도 넘으면 해당 사용자의 캐시를 비웁니다.
+     */
+    private int maxEntriesPerPartition = 64;
+}
@@ -0,0 +1,35 @@
+package com.codewithprojects.springsecurity.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableAsync;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * 요청 처리와 분리된 비동기 작업(회원가입 후속 처리 등)을 위한 실행기를 구성하는 클래스입니다.
+ */
+@Slf4j
+@Configuration
+@EnableAsync
+public class AsyncConfiguration {
+
+    /**
+     * 회원가입 후속 작업용 실행기를 생성합니다.
+     * 큐가 가득 차면 요청 스레드에서 실행하지 않고 작업을 버린 뒤 경고를 남깁니다.
+     * 따라서 환영 처리처럼 버려져도 되는 작업만 이 실행기로 보냅니다 (감사 로그는 AuthAuditPublisher 가 직접 기록).
+     *
+     * @return 구성된 ThreadPoolTaskExecutor 객체입니다.
+     */
+    @Bean(name = "signupTaskExecutor")
+    public ThreadPoolTaskExecutor signupTaskExecutor(){
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(2);
+        executor.setMaxPoolSize(4);
+        executor.setQueueCapacity(10_000);
+        executor.setThreadNamePrefix("signup-");
+        executor.setRejectedExecutionHandler((task, pool) -> log.warn("Signup task queue full, dropping post-signup task"));
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
+}
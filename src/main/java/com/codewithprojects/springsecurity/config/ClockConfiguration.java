@@ -0,0 +1,24 @@
+package com.codewithprojects.springsecurity.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+/**
+ * 토큰 발급/검증 시각의 기준이 되는 Clock 빈을 제공합니다.
+ * 테스트에서는 Clock.fixed() 등으로 교체하여 시간을 제어할 수 있습니다.
+ */
+@Configuration
+public class ClockConfiguration {
+
+    /**
+     * 시스템 UTC 시계를 사용하는 Clock 빈을 생성합니다.
+     *
+     * @return 구성된 Clock 객체입니다.
+     */
+    @Bean
+    public Clock clock(){
+        return Clock.systemUTC();
+    }
+}
@@ -1,7 +1,13 @@
 package com.codewithprojects.springsecurity.config;
 
+import com.codewithprojects.springsecurity.audit.AuthAuditEventType;
+import com.codewithprojects.springsecurity.audit.AuthAuditPublisher;
 import com.codewithprojects.springsecurity.service.JWTService;
 import com.codewithprojects.springsecurity.service.UserService;
+import com.codewithprojects.springsecurity.tracing.AuthLatencyTracer;
+import com.codewithprojects.springsecurity.tracing.AuthTrace;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -11,6 +17,7 @@ import org.springframework.security.authentication.UsernamePasswordAuthenticatio
 import org.springframework.security.core.context.SecurityContext;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
@@ -24,13 +31,20 @@ import java.io.IOException;
  * 유효한 JWT의 경우, 해당 사용자의 인증 정보를 SecurityContext에 설정합니다.
  *
  * 이 클래스는 OncePerRequestFilter를 상속받아 요청당 한 번씩 필터링 로직이 수행되도록 합니다.
+ * 각 단계(헤더 파싱, JWT 검증, 사용자 로드, 이후 필터 체인)는 AuthLatencyTracer 로 측정됩니다.
+ * 토큰의 서명 검증과 테넌트 확인은 요청당 한 번(jwt.parse)만 수행하고, 이후 단계는 그 클레임을 재사용합니다.
  */
 @Component
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
+    // 상태가 없어 스레드 간 공유가 안전하므로 요청마다 새로 만들지 않습니다.
+    private static final WebAuthenticationDetailsSource DETAILS_SOURCE = new WebAuthenticationDetailsSource();
+
     private final JWTService jwtService;
     private final UserService userService;
+    private final AuthLatencyTracer tracer;
+    private final AuthAuditPublisher auditPublisher;
 
     /**
      * 요청을 필터링하여 JWT 인증 처리를 수행합니다.
@@ -43,46 +57,84 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
      */
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        AuthTrace trace = tracer.begin(request);
+        try {
+            authenticate(request);
+            // 다음 필터로 요청과 응답 전달
+            tracer.filterStage("chain", () -> filterChain.doFilter(request, response));
+        } finally {
+            tracer.end(trace, response);
+        }
+    }
+
+    /**
+     * "Authorization" 헤더의 JWT를 검증하고, 유효한 경우 SecurityContext에 인증 정보를 설정합니다.
+     *
+     * @param request HttpServletRequest 객체로, 현재 HTTP 요청 정보를 담고 있습니다.
+     */
+    private void authenticate(HttpServletRequest request) {
 
         // "Authorization" 헤더에서 JWT 토큰을 추출
-        final String authHeader = request.getHeader("Authorization");
-        final String jwt;
-        final String userEmail;
+        final String jwt = tracer.stage("header", () -> extractBearerToken(request));
 
         // "Authorization" 헤더가 비어있거나 "Bearer "로 시작하지 않는 경우, 필터 체인을 계속 진행
-        if(StringUtils.isEmpty(authHeader) || !org.apache.commons.lang3.StringUtils.startsWith(authHeader, "Bearer ")){
-            filterChain.doFilter(request, response);
+        if(jwt == null){
             return;
         }
 
-        // "Bearer " 이후의 문자열을 JWT 토큰으로 추출
-        jwt = authHeader.substring(7);
-        // JWT 토큰에서 사용자 이메일 추출
-        userEmail = jwtService.extractUserName(jwt);
+        // JWT 토큰의 서명을 한 번 검증하고 클레임을 얻음 (서명 오류, 만료 등으로 거부된 토큰은 감사 로그에 남김)
+        final Claims claims;
+        try {
+            claims = tracer.stage("jwt.parse", () -> jwtService.parseToken(jwt));
+        } catch (JwtException e) {
+            auditPublisher.publish(AuthAuditEventType.TOKEN_REJECTED, null, request.getRemoteAddr(), e.getClass().getSimpleName());
+            throw e;
+        }
+        final String userEmail = claims.getSubject();
 
         // 사용자 이메일이 비어있지 않고 현재 SecurityContext에 인증 정보가 없는 경우
         if( (userEmail != null && !userEmail.isEmpty()  )
                 && SecurityContextHolder.getContext().getAuthentication() == null){
             // 사용자 상세 정보 로드
-            UserDetails userDetails = userService.userDetailsService().loadUserByUsername(userEmail);
+            UserDetails userDetails;
+            try {
+                userDetails = tracer.stage("user.load",
+                        () -> userService.userDetailsService().loadUserByUsername(userEmail));
+            } catch (UsernameNotFoundException e) {
+                auditPublisher.publish(AuthAuditEventType.TOKEN_REJECTED, userEmail, request.getRemoteAddr(), "unknown user");
+                throw e;
+            }
 
-            // JWT 토큰이 유효한 경우
-            if(jwtService.isTokenValid(jwt, userDetails)){
+            // JWT 토큰이 유효한 경우 (이미 검증된 클레임으로 사용자 일치, 만료, 폐기만 확인)
+            if(tracer.stage("jwt.verify", () -> jwtService.isTokenValid(claims, userDetails))){
                 // 새로운 SecurityContext 생성
                 SecurityContext securityContext = SecurityContextHolder.createEmptyContext();
 
                 // 사용자 인증 토큰 생성 및 설정
                 UsernamePasswordAuthenticationToken token = new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
-                token.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                token.setDetails(DETAILS_SOURCE.buildDetails(request));
 
                 // SecurityContext에 인증 정보 설정
                 securityContext.setAuthentication(token);
                 SecurityContextHolder.setContext(securityContext);
+            } else {
+                auditPublisher.publish(AuthAuditEventType.TOKEN_REJECTED, userEmail, request.getRemoteAddr(), "invalid token");
             }
 
         }
-        // 다음 필터로 요청과 응답 전달
-        filterChain.doFilter(request, response);
-        return;
+    }
+
+    /**
+     * "Authorization" 헤더에서 "Bearer " 이후의 문자열을 JWT 토큰으로 추출합니다.
+     *
+     * @param request HttpServletRequest 객체
+     * @return JWT 토큰, 헤더가 없거나 "Bearer "로 시작하지 않으면 null
+     */
+    private static String extractBearerToken(HttpServletRequest request) {
+        final String authHeader = request.getHeader("Authorization");
+        if(StringUtils.isEmpty(authHeader) || !org.apache.commons.lang3.StringUtils.startsWith(authHeader, "Bearer ")){
+            return null;
+        }
+        return authHeader.substring(7);
     }
 }
@@ -0,0 +1,44 @@
+package com.codewithprojects.springsecurity.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * JwtProperties 클래스는 토큰 수명과 sliding 세션 설정을 담습니다.
+ * "auth.jwt" 접두사로 application.yml 에서 값을 주입받습니다.
+ *
+ * 여기서 정한 수명은 기본 테넌트와, 수명을 따로 지정하지 않은 테넌트에 적용됩니다.
+ */
+@Data
+@ConfigurationProperties(prefix = "auth.jwt")
+public class JwtProperties {
+
+    /**
+     * 액세스 토큰 수명.
+     */
+    private Duration accessTokenTtl = Duration.ofHours(24);
+
+    /**
+     * 리프레시 토큰 수명.
+     */
+    private Duration refreshTokenTtl = Duration.ofHours(24);
+
+    private Sliding sliding = new Sliding();
+
+    @Data
+    public static class Sliding {
+
+        /**
+         * sliding 세션 사용 여부. 켜면 refresh 요청 시 토큰이 수명의 reissueFraction 을
+         * 지난 경우에만 새로 서명하고, 그 전에는 기존 토큰을 그대로 돌려줍니다.
+         */
+        private boolean enabled = false;
+
+        /**
+         * 재발급 기준이 되는 수명 대비 경과 비율 (0.0 ~ 1.0).
+         */
+        private double reissueFraction = 0.5;
+    }
+}
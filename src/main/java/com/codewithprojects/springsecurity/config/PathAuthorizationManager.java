@@ -0,0 +1,100 @@
+package com.codewithprojects.springsecurity.config;
+
+import com.codewithprojects.springsecurity.entities.Role;
+import com.codewithprojects.springsecurity.entities.User;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.server.PathContainer;
+import org.springframework.http.server.RequestPath;
+import org.springframework.security.authentication.AuthenticationTrustResolver;
+import org.springframework.security.authentication.AuthenticationTrustResolverImpl;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.web.util.ServletRequestPathUtils;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * PathAuthorizationManager는 경로별로 필요한 역할 비트를 미리 계산해 두고,
+ * 요청마다 경로 매칭과 비트 AND 연산만으로 인가를 결정하는 AuthorizationManager입니다.
+ *
+ * 경로 패턴은 시작 시 PathPattern 으로 한 번만 파싱해 두고, 요청 경로는 Spring MVC 와 같은 방식으로
+ * 세그먼트별로 디코딩한 값과 비교합니다. 따라서 "/api/v1/%61dmin" 처럼 인코딩된 경로도
+ * 컨트롤러로 라우팅되는 "/api/v1/admin" 규칙에 걸립니다.
+ *
+ * 규칙은 등록 순서대로 검사하며 처음 일치한 규칙을 사용합니다.
+ * 어떤 규칙에도 없는 경로는 인증된 사용자라면 모두 허용합니다 (anyRequest().authenticated()와 동일).
+ * 결정 객체는 미리 만들어 둔 상수를 반환하므로 요청마다 객체를 생성하지 않습니다.
+ */
+public class PathAuthorizationManager implements AuthorizationManager<RequestAuthorizationContext> {
+
+    private static final AuthorizationDecision GRANTED = new AuthorizationDecision(true);
+    private static final AuthorizationDecision DENIED = new AuthorizationDecision(false);
+
+    private final List<Rule> rules;
+    private final AuthenticationTrustResolver trustResolver = new AuthenticationTrustResolverImpl();
+
+    /**
+     * 경로 규칙 하나. 요청 경로가 pattern 과 일치하면 requiredMask 의 비트 중 하나가 필요합니다.
+     */
+    private record Rule(PathPattern pattern, int requiredMask) {
+    }
+
+    /**
+     * @param requiredMasks 경로 패턴(PathPattern 문법) → 필요한 역할 비트. 비트 중 하나라도 가지면 허용됩니다.
+     *                      패턴이 겹치면 순서가 의미를 가지므로 LinkedHashMap 을 사용합니다.
+     */
+    public PathAuthorizationManager(Map<String, Integer> requiredMasks) {
+        this.rules = requiredMasks.entrySet().stream()
+                .map(entry -> new Rule(PathPatternParser.defaultInstance.parse(entry.getKey()), entry.getValue()))
+                .toList();
+    }
+
+    /**
+     * 요청 경로에 필요한 역할 비트와 사용자의 역할 비트를 비교하여 인가 여부를 결정합니다.
+     *
+     * @param authentication 현재 인증 정보 공급자
+     * @param context 요청 인가 컨텍스트
+     * @return 허용 또는 거부 결정
+     */
+    @Override
+    public AuthorizationDecision check(Supplier<Authentication> authentication, RequestAuthorizationContext context) {
+        Authentication current = authentication.get();
+        if (current == null || !current.isAuthenticated() || trustResolver.isAnonymous(current)) {
+            return DENIED;
+        }
+        PathContainer path = pathWithinApplication(context.getRequest());
+        for (Rule rule : rules) {
+            if (rule.pattern().matches(path)) {
+                return (grantedMask(current) & rule.requiredMask()) != 0 ? GRANTED : DENIED;
+            }
+        }
+        return GRANTED;
+    }
+
+    /**
+     * 요청의 애플리케이션 내 경로를 구합니다. PathPattern 은 이 경로의 세그먼트를 디코딩한 값과 비교합니다.
+     * 이미 파싱된 경로가 요청에 있으면 그것을 재사용합니다.
+     */
+    private static PathContainer pathWithinApplication(HttpServletRequest request) {
+        RequestPath path = ServletRequestPathUtils.hasParsedRequestPath(request)
+                ? ServletRequestPathUtils.getParsedRequestPath(request)
+                : RequestPath.parse(request.getRequestURI(), request.getContextPath());
+        return path.pathWithinApplication();
+    }
+
+    /**
+     * 사용자의 역할 비트를 구합니다. 주체가 User 엔티티면 역할에서 바로 읽습니다.
+     */
+    private static int grantedMask(Authentication authentication) {
+        if (authentication.getPrincipal() instanceof User user && user.getRole() != null) {
+            return user.getRole().getMask();
+        }
+        return Role.maskOf(authentication.getAuthorities());
+    }
+}
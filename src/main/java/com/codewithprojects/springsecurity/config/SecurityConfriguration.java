@@ -18,6 +18,9 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 /**
  * 스프링 시큐리티를 활용하여 인증 및 권한 부여 설정을 제공하는 구성 클래스입니다.
  * 이 클래스는 JWT를 이용한 인증 체계와 스프링 시큐리티 필터 체인을 구성합니다.
@@ -39,11 +42,9 @@ public class SecurityConfriguration {
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception{
         http.csrf(AbstractHttpConfigurer::disable)
-                .authorizeHttpRequests(request -> request.requestMatchers("/api/v1/auth/**")
+                .authorizeHttpRequests(request -> request.requestMatchers("/api/v1/auth/**", "/error")
                         .permitAll()
-                        .requestMatchers("/api/v1/admin").hasAnyAuthority(Role.ADMIN.name())
-                        .requestMatchers("/api/v1/user").hasAnyAuthority(Role.USER.name())
-                        .anyRequest().authenticated())
+                        .anyRequest().access(pathAuthorizationManager()))
                 .sessionManagement(manager -> manager.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authenticationProvider(authenticationProvider()).addFilterBefore(
                         jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class
@@ -51,6 +52,21 @@ public class SecurityConfriguration {
         return http.build();
     }
 
+    /**
+     * 경로별로 필요한 역할을 미리 비트 값으로 계산해 둔 AuthorizationManager를 생성합니다.
+     * "/api/v1/admin"은 ADMIN, "/api/v1/user"는 USER 역할이 필요하며, 그 외 경로는 인증만 요구합니다.
+     * 경로는 Spring MVC 와 같이 디코딩된 경로로 비교하므로 인코딩된 경로로 규칙을 우회할 수 없습니다.
+     *
+     * @return 구성된 PathAuthorizationManager 객체입니다.
+     */
+    @Bean
+    public PathAuthorizationManager pathAuthorizationManager(){
+        Map<String, Integer> requiredMasks = new LinkedHashMap<>();
+        requiredMasks.put("/api/v1/admin", Role.ADMIN.getMask());
+        requiredMasks.put("/api/v1/user", Role.USER.getMask());
+        return new PathAuthorizationManager(requiredMasks);
+    }
+
     /**
      * 사용자 인증을 처리하는 AuthenticationProvider 빈을 생성합니다.
      *
@@ -0,0 +1,26 @@
+package com.codewithprojects.springsecurity.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * UserCacheProperties 클래스는 노드별 사용자 상세 정보 캐시 설정을 담습니다.
+ * "auth.user-cache" 접두사로 application.yml 에서 값을 주입받습니다.
+ */
+@Data
+@ConfigurationProperties(prefix = "auth.user-cache")
+public class UserCacheProperties {
+
+    /**
+     * 캐시된 사용자 정보의 유효 시간. 0 이면 캐시하지 않습니다.
+     * 무효화 이벤트가 유실되더라도 이 시간이 지나면 DB 에서 다시 읽습니다.
+     */
+    private Duration ttl = Duration.ofMinutes(1);
+
+    /**
+     * 캐시할 최대 사용자 수. 도달하면 만료된 항목과 가장 오래된 항목 일부를 제거합니다.
+     */
+    private int maxEntries = 100_000;
+}
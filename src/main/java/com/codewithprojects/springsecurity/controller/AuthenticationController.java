@@ -3,8 +3,8 @@ package com.codewithprojects.springsecurity.controller;
 import com.codewithprojects.springsecurity.dto.JwtAuthenticationResponse;
 import com.codewithprojects.springsecurity.dto.RefreshTokenRequest;
 import com.codewithprojects.springsecurity.dto.SignUpRequest;
+import com.codewithprojects.springsecurity.dto.SignUpResponse;
 import com.codewithprojects.springsecurity.dto.SigninRequest;
-import com.codewithprojects.springsecurity.entities.User;
 import com.codewithprojects.springsecurity.service.AuthenticationService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -29,10 +29,10 @@ public class AuthenticationController {
      *                      JSON 형식의 요청 본문에서 받은 데이터를 이용하여 생성됩니다.
      *                      이 객체에는 사용자의 이메일, 이름, 성, 비밀번호 등이 포함됩니다.
      * @return ResponseEntity 객체를 통해 HttpStatus.OK(200) 상태 코드와 함께
-     *         등록된 사용자 정보(User 객체)를 반환합니다.
+     *         등록된 사용자 정보(SignUpResponse 객체)를 반환합니다.
      */
     @PostMapping("/signup")
-    public ResponseEntity<User> signup(@RequestBody SignUpRequest signUpRequest){
+    public ResponseEntity<SignUpResponse> signup(@RequestBody SignUpRequest signUpRequest){
         return ResponseEntity.ok(authenticationService.signup(signUpRequest));
     }
 
@@ -1,11 +1,41 @@
 package com.codewithprojects.springsecurity.controller;
 
+import com.codewithprojects.springsecurity.invalidation.InvalidationBus;
+import com.codewithprojects.springsecurity.service.JWTService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
 
 @RestController
 @RequestMapping("/api/v1/user")
 @RequiredArgsConstructor
 public class UserController {
+
+    private final JWTService jwtService;
+    private final InvalidationBus invalidationBus;
+
+    /**
+     * 로그아웃 요청을 처리하는 엔드포인트입니다.
+     * HTTP POST 요청을 "/api/v1/user/logout" 경로로 받아 현재 사용자에게 발급된 모든 토큰을 폐기합니다.
+     * 폐기 사실은 모든 노드에 전파되고, 재시작한 노드와 새로 시작한 노드에도 재생됩니다.
+     * 폐기를 재생할 수 없는 무효화 백엔드(in-jvm)에서는 재시작 후 토큰이 되살아나므로 로그아웃을 제공하지 않습니다.
+     *
+     * @param authentication 현재 인증된 사용자 정보
+     * @return ResponseEntity 객체를 통해 HttpStatus.NO_CONTENT(204) 상태 코드를 반환합니다.
+     * @throws ResponseStatusException 무효화 백엔드가 영속적이지 않으면 501 상태로 발생합니다.
+     */
+    @PostMapping("/logout")
+    public ResponseEntity<Void> logout(Authentication authentication){
+        if(!invalidationBus.isDurable()){
+            throw new ResponseStatusException(HttpStatus.NOT_IMPLEMENTED,
+                    "Token revocation requires a durable invalidation backend (auth.invalidation.backend: jdbc)");
+        }
+        jwtService.revokeTokens(authentication.getName());
+        return ResponseEntity.noContent().build();
+    }
 }
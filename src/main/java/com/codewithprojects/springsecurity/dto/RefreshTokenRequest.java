@@ -5,4 +5,5 @@ import lombok.Data;
 @Data
 public class RefreshTokenRequest {
     public String refreshToken;
+    private String accessToken;   // 현재 액세스 토큰 (선택, sliding 세션에서 재사용 여부 판단에 사용)
 }
@@ -0,0 +1,34 @@
+package com.codewithprojects.springsecurity.dto;
+
+import com.codewithprojects.springsecurity.entities.Role;
+import com.codewithprojects.springsecurity.entities.User;
+import lombok.Data;
+
+/**
+ * SignUpResponse 클래스는 회원가입 결과로 반환되는 사용자 정보를 담습니다.
+ * 비밀번호 해시 등 엔티티의 민감한 필드는 포함하지 않습니다.
+ */
+@Data
+public class SignUpResponse {
+    private Long id;          // 사용자 ID
+    private String email;     // 사용자의 이메일 주소
+    private String firstname; // 사용자의 이름
+    private String lastname;  // 사용자의 성
+    private Role role;        // 사용자의 역할
+
+    /**
+     * 저장된 User 엔티티로부터 응답 객체를 생성합니다.
+     *
+     * @param user 저장된 사용자 엔티티
+     * @return 생성된 SignUpResponse 객체
+     */
+    public static SignUpResponse from(User user) {
+        SignUpResponse response = new SignUpResponse();
+        response.setId(user.getId());
+        response.setEmail(user.getEmail());
+        response.setFirstname(user.getFirstname());
+        response.setLastname(user.getSecondname());
+        response.setRole(user.getRole());
+        return response;
+    }
+}
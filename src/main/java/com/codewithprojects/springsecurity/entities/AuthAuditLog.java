@@ -0,0 +1,33 @@
+package com.codewithprojects.springsecurity.entities;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.Instant;
+
+/**
+ * AuthAuditLog 엔티티는 인증 감사 로그 테이블(auth_audit_log)을 정의합니다.
+ * 기록은 JdbcAuditWriter 의 배치 insert 로 이루어지며, 이 엔티티는 테이블 스키마와 조회 용도로 사용됩니다.
+ */
+@Data
+@Entity
+@Table(name = "auth_audit_log", indexes = @Index(name = "idx_auth_audit_log_principal", columnList = "principal"))
+public class AuthAuditLog {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "event_type", nullable = false, length = 32)
+    private String eventType;
+
+    private String principal;
+
+    @Column(name = "remote_address", length = 64)
+    private String remoteAddress;
+
+    private String detail;
+
+    @Column(name = "occurred_at", nullable = false)
+    private Instant occurredAt;
+}
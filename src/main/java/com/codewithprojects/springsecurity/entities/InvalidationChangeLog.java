@@ -0,0 +1,30 @@
+package com.codewithprojects.springsecurity.entities;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+/**
+ * InvalidationChangeLog 엔티티는 DB 폴링 방식 무효화 버스의 변경 로그 테이블을 정의합니다.
+ * 각 노드는 마지막으로 읽은 id 이후의 행을 주기적으로 읽어 로컬 캐시를 무효화합니다.
+ */
+@Data
+@Entity
+@Table(name = "invalidation_change_log", indexes = @Index(name = "idx_invalidation_created_at", columnList = "created_at"))
+public class InvalidationChangeLog {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, length = 32)
+    private String type;            // InvalidationType 이름
+
+    @Column(name = "entry_key", nullable = false)
+    private String entryKey;        // 무효화 대상 키
+
+    @Column(name = "origin_node", nullable = false, length = 36)
+    private String originNode;      // 발행한 노드 식별자
+
+    @Column(name = "created_at", nullable = false)
+    private long createdAt;         // 발행 시각 (epoch millis)
+}
@@ -1,6 +1,70 @@
 package com.codewithprojects.springsecurity.entities;
 
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Role 열거형은 사용자의 역할을 정의합니다.
+ *
+ * 각 역할은 하나의 비트(mask)를 가지며, 권한 검사는 필요한 비트와 사용자의 비트를 AND 연산하여 수행합니다.
+ * GrantedAuthority 객체는 역할마다 하나만 만들어 모든 사용자가 공유합니다.
+ */
 public enum Role {
     USER,
     ADMIN;
+
+    private static final Map<String, Role> BY_AUTHORITY = new HashMap<>();
+
+    static {
+        for (Role role : values()) {
+            BY_AUTHORITY.put(role.name(), role);
+        }
+    }
+
+    private final int mask = 1 << ordinal();
+    private final GrantedAuthority authority = new SimpleGrantedAuthority(name());
+    private final List<GrantedAuthority> authorities = List.of(authority);
+
+    /**
+     * 이 역할의 권한 비트입니다.
+     */
+    public int getMask() {
+        return mask;
+    }
+
+    /**
+     * 이 역할의 공유 GrantedAuthority 객체입니다.
+     */
+    public GrantedAuthority getAuthority() {
+        return authority;
+    }
+
+    /**
+     * 이 역할 하나만 담은 공유 불변 권한 목록입니다.
+     */
+    public List<GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    /**
+     * 권한 목록을 역할 비트의 합으로 변환합니다. 역할이 아닌 권한은 무시합니다.
+     *
+     * @param authorities 권한 목록
+     * @return 역할 비트의 OR 값
+     */
+    public static int maskOf(Collection<? extends GrantedAuthority> authorities) {
+        int mask = 0;
+        for (GrantedAuthority authority : authorities) {
+            Role role = BY_AUTHORITY.get(authority.getAuthority());
+            if (role != null) {
+                mask |= role.mask;
+            }
+        }
+        return mask;
+    }
 }
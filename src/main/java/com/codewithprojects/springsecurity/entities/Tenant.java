@@ -0,0 +1,40 @@
+package com.codewithprojects.springsecurity.entities;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+/**
+ * Tenant 엔티티는 토큰을 발급받는 고객사(테넌트)의 발급 정책을 저장합니다.
+ * 테넌트마다 issuer, audience, 서명 키, 토큰 수명, 역할 매핑을 따로 가집니다.
+ */
+@Data
+@Entity
+@Table(name = "tenant")
+public class Tenant {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true, length = 64)
+    private String code;            // 요청 헤더로 전달되는 테넌트 식별자
+
+    @Column(nullable = false, unique = true)
+    private String issuer;          // 토큰의 iss 클레임
+
+    private String audience;        // 토큰의 aud 클레임
+
+    @Column(name = "signing_key", nullable = false)
+    private String signingKey;      // Base64 로 인코딩된 HMAC-SHA256 키 (256비트 이상)
+
+    @Column(name = "access_token_ttl_seconds")
+    private Long accessTokenTtlSeconds;     // null 이면 auth.jwt 기본값 사용
+
+    @Column(name = "refresh_token_ttl_seconds")
+    private Long refreshTokenTtlSeconds;    // null 이면 auth.jwt 기본값 사용
+
+    @Column(name = "role_mapping")
+    private String roleMapping;     // "ADMIN=tenant-admin,USER=member" 형식, 토큰의 roles 클레임 값
+
+    private boolean enabled = true;
+}
@@ -3,15 +3,13 @@ package com.codewithprojects.springsecurity.entities;
 import jakarta.persistence.*;
 import lombok.Data;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
-import java.util.List;
 
 @Data
 @Entity
-@Table(name="user")
+@Table(name="user", uniqueConstraints = @UniqueConstraint(name = "uk_user_email", columnNames = "email"))
 public class User implements UserDetails {
 
     @Id
@@ -21,15 +19,21 @@ public class User implements UserDetails {
     private String firstname;
     private String secondname;
 
-    private String email;
+    private String email;           // uk_user_email 로 중복 불가, 기존 DB 는 db/user-email-unique.sql 을 먼저 적용
 
     private String password;
 
     private Role role;
 
+    @Column(name = "tenant_code", length = 64)
+    private String tenantCode;      // 소속 테넌트 식별자, null 이면 기본 테넌트
+
+    /**
+     * 역할마다 공유되는 불변 권한 목록을 반환하므로 호출 시 객체를 새로 만들지 않습니다.
+     */
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        return List.of(new SimpleGrantedAuthority(role.name()));
+        return role.getAuthorities();
     }
 
     @Override
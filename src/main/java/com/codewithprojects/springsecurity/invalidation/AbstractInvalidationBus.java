@@ -0,0 +1,133 @@
+package com.codewithprojects.springsecurity.invalidation;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+
+import java.time.Clock;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * AbstractInvalidationBus 클래스는 InvalidationBus 구현의 공통 부분(구독자 관리, 로컬 전달, 지표)을 제공합니다.
+ *
+ * 새로운 전송 수단(예: 메시지 브로커)을 추가하려면 이 클래스를 상속하여
+ * <ul>
+ *     <li>transmit(): 이벤트를 다른 노드로 보내고,</li>
+ *     <li>다른 노드의 이벤트를 받으면 receive() 를 호출하며,</li>
+ *     <li>필요하면 start()/close() 에서 연결을 열고 닫습니다.</li>
+ * </ul>
+ * receive() 는 자기 노드가 보낸 이벤트를 걸러내고 전파 지연을 기록한 뒤 구독자에게 전달합니다.
+ *
+ * start() 는 모든 싱글톤 빈(구독자)이 만들어진 뒤, 웹 서버가 요청을 받기 전에 호출됩니다.
+ */
+@Slf4j
+public abstract class AbstractInvalidationBus implements InvalidationBus, AutoCloseable, SmartInitializingSingleton {
+
+    private final String nodeId = UUID.randomUUID().toString();
+    private final List<InvalidationListener> listeners = new CopyOnWriteArrayList<>();
+    protected final Clock clock;
+
+    private final LongAdder published = new LongAdder();
+    private final LongAdder received = new LongAdder();
+    private final LongAdder listenerFailures = new LongAdder();
+    private final AtomicLong lastLagMillis = new AtomicLong();
+    private final AtomicLong maxLagMillis = new AtomicLong();
+
+    protected AbstractInvalidationBus(Clock clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public void publish(InvalidationType type, String key) {
+        InvalidationEvent event = new InvalidationEvent(type, key, nodeId, clock.millis());
+        published.increment();
+        dispatch(event);
+        transmit(event);
+    }
+
+    @Override
+    public void subscribe(InvalidationListener listener) {
+        listeners.add(listener);
+    }
+
+    @Override
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    @Override
+    public InvalidationStats stats() {
+        return new InvalidationStats(published.sum(), received.sum(), listenerFailures.sum(),
+                lastLagMillis.get(), maxLagMillis.get());
+    }
+
+    /**
+     * 전송 수단을 시작합니다. 기본 구현은 아무것도 하지 않습니다.
+     * 이 메서드가 끝나기 전에는 요청을 받지 않으므로, 과거 이벤트 재생처럼 요청 처리 전에 끝나야 하는 작업은
+     * 여기서 동기적으로 수행합니다.
+     */
+    public void start() {
+    }
+
+    /**
+     * 구독자들이 모두 subscribe() 를 마친 뒤 start() 를 호출합니다.
+     */
+    @Override
+    public void afterSingletonsInstantiated() {
+        start();
+    }
+
+    /**
+     * 전송 수단을 종료합니다. 기본 구현은 아무것도 하지 않습니다.
+     */
+    @Override
+    public void close() {
+    }
+
+    /**
+     * 이벤트를 다른 노드로 전송합니다. 발행 노드의 구독자에게는 이미 전달된 상태입니다.
+     *
+     * @param event 전송할 이벤트
+     */
+    protected abstract void transmit(InvalidationEvent event);
+
+    /**
+     * 다른 노드에서 받은 이벤트를 이 노드의 구독자에게 전달합니다.
+     * 자기 노드가 발행한 이벤트는 무시합니다.
+     *
+     * @param event 수신한 이벤트
+     */
+    protected void receive(InvalidationEvent event) {
+        if (nodeId.equals(event.getOriginNodeId())) {
+            return;
+        }
+        long lag = Math.max(0, clock.millis() - event.getTimestampMillis());
+        lastLagMillis.set(lag);
+        maxLagMillis.accumulateAndGet(lag, Long::max);
+        received.increment();
+        dispatch(event);
+    }
+
+    /**
+     * 노드가 시작되기 전에 발행된 이벤트를 구독자에게 전달합니다. 전파 지연 지표에는 포함하지 않습니다.
+     *
+     * @param event 과거에 발행된 이벤트
+     */
+    protected void replay(InvalidationEvent event) {
+        dispatch(event);
+    }
+
+    private void dispatch(InvalidationEvent event) {
+        for (InvalidationListener listener : listeners) {
+            try {
+                listener.onInvalidation(event);
+            } catch (RuntimeException e) {
+                listenerFailures.increment();
+                log.warn("Invalidation listener failed for {} {}", event.getType(), event.getKey(), e);
+            }
+        }
+    }
+}
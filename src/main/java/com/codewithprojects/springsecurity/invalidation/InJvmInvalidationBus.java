@@ -0,0 +1,41 @@
+package com.codewithprojects.springsecurity.invalidation;
+
+import java.time.Clock;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+/**
+ * InJvmInvalidationBus 클래스는 같은 JVM 안의 모든 버스 인스턴스에 이벤트를 직접 전달합니다.
+ *
+ * 인스턴스는 JVM 전역 목록에 등록되므로, 한 JVM 에서 여러 애플리케이션 컨텍스트를 띄우면
+ * 각 컨텍스트를 별도의 노드처럼 다룰 수 있습니다. 단일 노드 배포와 테스트에 사용합니다.
+ * 전달은 발행 스레드에서 동기적으로 이루어지므로 전파 지연이 거의 없습니다.
+ * 이벤트는 메모리에만 있으므로 재시작하면 사라지며, 영속적이지 않습니다 (isDurable() 은 false).
+ */
+public class InJvmInvalidationBus extends AbstractInvalidationBus {
+
+    private static final Set<InJvmInvalidationBus> BUSES = new CopyOnWriteArraySet<>();
+
+    public InJvmInvalidationBus(Clock clock) {
+        super(clock);
+    }
+
+    @Override
+    public void start() {
+        BUSES.add(this);
+    }
+
+    @Override
+    public void close() {
+        BUSES.remove(this);
+    }
+
+    @Override
+    protected void transmit(InvalidationEvent event) {
+        for (InJvmInvalidationBus bus : BUSES) {
+            if (bus != this) {
+                bus.receive(event);
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.codewithprojects.springsecurity.invalidation;
+
+/**
+ * InvalidationBus 인터페이스는 노드 간 캐시 무효화 이벤트 전파 방식을 정의합니다.
+ *
+ * publish() 된 이벤트는 발행한 노드의 구독자에게 즉시 전달되고, 구현체의 전송 수단을 통해
+ * 다른 노드의 구독자에게도 전달됩니다. 메시지 브로커 등 새 전송 수단은 AbstractInvalidationBus 를 상속해 구현합니다.
+ */
+public interface InvalidationBus {
+
+    /**
+     * 무효화 이벤트를 발행합니다.
+     *
+     * @param type 무효화 종류
+     * @param key 무효화 대상 키
+     */
+    void publish(InvalidationType type, String key);
+
+    /**
+     * 무효화 이벤트 구독자를 등록합니다.
+     *
+     * @param listener 구독자
+     */
+    void subscribe(InvalidationListener listener);
+
+    /**
+     * 이 노드의 식별자입니다.
+     */
+    String getNodeId();
+
+    /**
+     * 누적 지표 스냅샷을 반환합니다.
+     */
+    InvalidationStats stats();
+
+    /**
+     * 발행한 이벤트가 노드 재시작 후에도 유지되고 나중에 시작한 노드에도 전달(재생)되는지 여부.
+     * 토큰 폐기처럼 놓치면 보안 보장이 깨지는 이벤트는 이 값이 true 인 백엔드에서만 약속할 수 있습니다.
+     *
+     * @return 이벤트가 영속적으로 보관되고 재생되면 true
+     */
+    default boolean isDurable() {
+        return false;
+    }
+}
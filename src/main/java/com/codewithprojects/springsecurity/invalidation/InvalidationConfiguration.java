@@ -0,0 +1,33 @@
+package com.codewithprojects.springsecurity.invalidation;
+
+import com.codewithprojects.springsecurity.repository.InvalidationChangeLogRepository;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+/**
+ * 캐시 무효화 버스(InvalidationBus)를 설정값에 따라 구성하는 클래스입니다.
+ * 메시지 브로커 등 다른 전송 수단을 쓰려면 AbstractInvalidationBus 를 상속한 빈을 @Primary 로 등록합니다.
+ */
+@Configuration
+public class InvalidationConfiguration {
+
+    /**
+     * auth.invalidation.backend 값에 맞는 InvalidationBus 빈을 생성합니다.
+     * start() 는 구독자가 모두 등록된 뒤 afterSingletonsInstantiated() 에서 호출되므로 initMethod 로 지정하지 않습니다.
+     *
+     * @param properties 무효화 버스 설정
+     * @param repository jdbc 백엔드가 사용할 변경 로그 저장소
+     * @param clock 이벤트 시각 기준 Clock
+     * @return 구성된 InvalidationBus 객체입니다.
+     */
+    @Bean(destroyMethod = "close")
+    public AbstractInvalidationBus invalidationBus(InvalidationProperties properties,
+                                                   InvalidationChangeLogRepository repository, Clock clock) {
+        if (properties.getBackend() == InvalidationProperties.Backend.JDBC) {
+            return new JdbcPollingInvalidationBus(repository, properties, clock);
+        }
+        return new InJvmInvalidationBus(clock);
+    }
+}
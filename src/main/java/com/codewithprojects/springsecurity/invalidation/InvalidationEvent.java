@@ -0,0 +1,14 @@
+package com.codewithprojects.springsecurity.invalidation;
+
+import lombok.Value;
+
+/**
+ * InvalidationEvent 클래스는 노드 사이에 전파되는 캐시 무효화 이벤트 한 건입니다.
+ */
+@Value
+public class InvalidationEvent {
+    InvalidationType type;  // 무효화 종류
+    String key;             // 무효화 대상 키
+    String originNodeId;    // 이벤트를 발행한 노드
+    long timestampMillis;   // 발행 시각 (epoch millis), 전파 지연 측정과 토큰 폐기 기준 시각으로 사용
+}
@@ -0,0 +1,14 @@
+package com.codewithprojects.springsecurity.invalidation;
+
+/**
+ * InvalidationListener 인터페이스는 무효화 이벤트를 받아 로컬 캐시를 정리하는 구독자를 정의합니다.
+ * 구현체는 빠르게 반환해야 하며, 예외를 던져도 다른 구독자에게는 영향을 주지 않습니다.
+ */
+@FunctionalInterface
+public interface InvalidationListener {
+
+    /**
+     * @param event 수신한 무효화 이벤트
+     */
+    void onInvalidation(InvalidationEvent event);
+}
@@ -0,0 +1,48 @@
+package com.codewithprojects.springsecurity.invalidation;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * InvalidationProperties 클래스는 캐시 무효화 버스 설정을 담습니다.
+ * "auth.invalidation" 접두사로 application.yml 에서 값을 주입받습니다.
+ */
+@Data
+@ConfigurationProperties(prefix = "auth.invalidation")
+public class InvalidationProperties {
+
+    /**
+     * 전송 수단: in-jvm (테스트/개발용, 토큰 폐기 미지원) 또는 jdbc (변경 로그 테이블 폴링, 토큰 폐기 지원).
+     */
+    private Backend backend = Backend.IN_JVM;
+
+    /**
+     * jdbc 백엔드의 폴링 주기. 노드 간 전파 지연의 상한이 됩니다.
+     */
+    private Duration pollInterval = Duration.ofSeconds(1);
+
+    /**
+     * jdbc 백엔드가 한 번에 읽는 최대 변경 로그 수.
+     */
+    private int batchSize = 500;
+
+    /**
+     * 변경 로그 보관 기간. 새로 시작한 노드는 이 기간의 로그를 다시 읽으므로
+     * 토큰 폐기가 유지되도록 리프레시 토큰 수명보다 길게 설정합니다.
+     */
+    private Duration retention = Duration.ofHours(25);
+
+    /**
+     * jdbc 백엔드에서 id 순서를 건너뛴 행(먼저 id 를 받았지만 늦게 커밋된 행)을 다시 찾는 기간.
+     * 발행 트랜잭션이 커밋되기까지 걸릴 수 있는 최대 시간보다 길게 설정합니다. 이 기간이 지나도 나타나지 않는 id 는
+     * 롤백된 것으로 보고 포기합니다.
+     */
+    private Duration gapTimeout = Duration.ofMinutes(1);
+
+    public enum Backend {
+        IN_JVM,
+        JDBC;
+    }
+}
@@ -0,0 +1,15 @@
+package com.codewithprojects.springsecurity.invalidation;
+
+import lombok.Value;
+
+/**
+ * InvalidationStats 클래스는 무효화 버스의 누적 지표 스냅샷입니다.
+ */
+@Value
+public class InvalidationStats {
+    long published;         // 이 노드가 발행한 이벤트 수
+    long received;          // 다른 노드에서 수신한 이벤트 수
+    long listenerFailures;  // 구독자 처리 중 발생한 예외 수
+    long lastLagMillis;     // 마지막 수신 이벤트의 전파 지연
+    long maxLagMillis;      // 최대 전파 지연
+}
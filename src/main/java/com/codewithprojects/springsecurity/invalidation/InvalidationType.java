@@ -0,0 +1,10 @@
+package com.codewithprojects.springsecurity.invalidation;
+
+/**
+ * 클러스터에 전파되는 캐시 무효화의 종류입니다.
+ */
+public enum InvalidationType {
+    USER,               // 사용자 정보(역할 등) 변경, key = 사용자 이메일
+    TOKEN_REVOCATION,   // 사용자의 기존 토큰 폐기, key = 사용자 이메일
+    TENANT;             // 테넌트 정책 변경, key = 테넌트 식별자
+}
@@ -0,0 +1,195 @@
+package com.codewithprojects.springsecurity.invalidation;
+
+import com.codewithprojects.springsecurity.entities.InvalidationChangeLog;
+import com.codewithprojects.springsecurity.repository.InvalidationChangeLogRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.Clock;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JdbcPollingInvalidationBus 클래스는 공유 데이터베이스의 변경 로그 테이블로 이벤트를 전파합니다.
+ *
+ * 발행 시 invalidation_change_log 에 한 행을 추가하고, 각 노드는 pollInterval 마다
+ * 마지막으로 읽은 id 이후의 행을 읽어 구독자에게 전달합니다. 따라서 전파 지연은 대략 pollInterval 이하입니다.
+ *
+ * IDENTITY id 는 커밋이 아닌 insert 시점에 정해지므로, 작은 id 의 행이 큰 id 의 행보다 늦게 커밋될 수 있습니다.
+ * 그래서 읽은 행 사이에 빠진 id 를 기억해 두고 gapTimeout 동안 매 폴링마다 다시 조회하며, 나타나면 그때 전달합니다.
+ * 무효화 이벤트는 멱등하고 순서에 의존하지 않으므로 늦게 전달되어도 결과는 같습니다.
+ *
+ * start() 에서는 보관 중인 로그를 처음부터 동기적으로 다시 읽어, 늦게 합류한 노드도 요청을 받기 전에
+ * 토큰 폐기 상태를 이어받습니다. 이 재생이 실패하면 폐기된 토큰을 받아들이지 않도록 기동을 중단합니다.
+ */
+@Slf4j
+public class JdbcPollingInvalidationBus extends AbstractInvalidationBus {
+
+    // 한 번에 추적하는 빠진 id 의 최대 수. 대량 롤백 등으로 넘으면 가장 오래된 것부터 포기합니다.
+    private static final int MAX_PENDING_GAPS = 10_000;
+
+    private final InvalidationChangeLogRepository repository;
+    private final InvalidationProperties properties;
+
+    private ScheduledExecutorService poller;
+    private long lastSeenId;
+    private long lastCleanupMillis;
+
+    // 빠진 id → 처음 발견한 시각(epoch millis). poller 스레드에서만 사용합니다.
+    private final LinkedHashMap<Long, Long> pendingGaps = new LinkedHashMap<>();
+
+    public JdbcPollingInvalidationBus(InvalidationChangeLogRepository repository, InvalidationProperties properties, Clock clock) {
+        super(clock);
+        this.repository = repository;
+        this.properties = properties;
+    }
+
+    /**
+     * 보관 중인 로그를 동기적으로 재생한 뒤 주기적 폴링을 시작합니다.
+     *
+     * @throws RuntimeException 로그를 읽지 못한 경우. 기동이 중단됩니다.
+     */
+    @Override
+    public void start() {
+        if (poller != null) {
+            return;
+        }
+        pollOnce(true);
+        poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "invalidation-poller");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long interval = properties.getPollInterval().toMillis();
+        poller.scheduleWithFixedDelay(this::poll, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 변경 로그가 retention 동안 DB 에 남고 시작 시 재생되므로 영속적입니다.
+     */
+    @Override
+    public boolean isDurable() {
+        return true;
+    }
+
+    @Override
+    public void close() {
+        if (poller != null) {
+            poller.shutdownNow();
+        }
+    }
+
+    @Override
+    protected void transmit(InvalidationEvent event) {
+        InvalidationChangeLog row = new InvalidationChangeLog();
+        row.setType(event.getType().name());
+        row.setEntryKey(event.getKey());
+        row.setOriginNode(event.getOriginNodeId());
+        row.setCreatedAt(event.getTimestampMillis());
+        repository.save(row);
+    }
+
+    /**
+     * 주기적 폴링. 실패해도 다음 주기에 다시 시도합니다.
+     */
+    private void poll() {
+        try {
+            pollOnce(false);
+        } catch (RuntimeException e) {
+            log.warn("Failed to poll invalidation change log", e);
+        }
+    }
+
+    /**
+     * 새 변경 로그와, 이전에 건너뛴 id 중 뒤늦게 커밋된 행을 읽어 구독자에게 전달합니다.
+     * start() 가 끝난 뒤에는 poller 스레드에서만 호출됩니다.
+     *
+     * @param replaying 기동 시 재생이면 true (전파 지연 지표에 포함하지 않음)
+     */
+    void pollOnce(boolean replaying) {
+        List<InvalidationChangeLog> rows;
+        do {
+            rows = repository.findByIdGreaterThanOrderByIdAsc(lastSeenId, PageRequest.of(0, properties.getBatchSize()));
+            for (InvalidationChangeLog row : rows) {
+                trackGapsBefore(row);
+                deliver(row, replaying);
+                lastSeenId = row.getId();
+            }
+        } while (rows.size() == properties.getBatchSize());
+        recoverGaps(replaying);
+        cleanupIfDue();
+    }
+
+    /**
+     * 마지막으로 읽은 id 와 이번 행 사이에 빠진 id 를 기록합니다.
+     * 처음 읽는 행 앞의 빈 id, 또는 gapTimeout 보다 오래된 행 앞의 빈 id 는 보관 기간 정리나 롤백으로 생긴 것이므로
+     * 기록하지 않습니다.
+     */
+    private void trackGapsBefore(InvalidationChangeLog row) {
+        long now = clock.millis();
+        if (lastSeenId == 0 || row.getId() <= lastSeenId + 1 || now - row.getCreatedAt() > properties.getGapTimeout().toMillis()) {
+            return;
+        }
+        long from = Math.max(lastSeenId + 1, row.getId() - MAX_PENDING_GAPS);
+        for (long id = from; id < row.getId(); id++) {
+            pendingGaps.putIfAbsent(id, now);
+        }
+        Iterator<Long> oldest = pendingGaps.keySet().iterator();
+        while (pendingGaps.size() > MAX_PENDING_GAPS && oldest.hasNext()) {
+            oldest.next();
+            oldest.remove();
+        }
+    }
+
+    /**
+     * 건너뛴 id 를 다시 조회해, 그사이 커밋된 행을 전달합니다. gapTimeout 이 지난 id 는 포기합니다.
+     */
+    private void recoverGaps(boolean replaying) {
+        if (pendingGaps.isEmpty()) {
+            return;
+        }
+        long expiredBefore = clock.millis() - properties.getGapTimeout().toMillis();
+        pendingGaps.values().removeIf(noticedAt -> noticedAt < expiredBefore);
+        if (pendingGaps.isEmpty()) {
+            return;
+        }
+        for (InvalidationChangeLog row : repository.findAllById(List.copyOf(pendingGaps.keySet()))) {
+            if (pendingGaps.remove(row.getId()) != null) {
+                deliver(row, replaying);
+            }
+        }
+    }
+
+    private void deliver(InvalidationChangeLog row, boolean replaying) {
+        InvalidationEvent event = new InvalidationEvent(InvalidationType.valueOf(row.getType()),
+                row.getEntryKey(), row.getOriginNode(), row.getCreatedAt());
+        if (replaying) {
+            replay(event);
+        } else {
+            receive(event);
+        }
+    }
+
+    int pendingGapCount() {
+        return pendingGaps.size();
+    }
+
+    /**
+     * 보관 기간이 지난 변경 로그를 한 시간에 한 번 정도 삭제합니다.
+     */
+    private void cleanupIfDue() {
+        long now = clock.millis();
+        if (now - lastCleanupMillis < TimeUnit.HOURS.toMillis(1)) {
+            return;
+        }
+        lastCleanupMillis = now;
+        int deleted = repository.deleteCreatedBefore(now - properties.getRetention().toMillis());
+        if (deleted > 0) {
+            log.debug("Deleted {} expired invalidation change log rows", deleted);
+        }
+    }
+}
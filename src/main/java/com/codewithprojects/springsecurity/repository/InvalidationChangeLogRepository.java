@@ -0,0 +1,39 @@
+package com.codewithprojects.springsecurity.repository;
+
+import com.codewithprojects.springsecurity.entities.InvalidationChangeLog;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+/**
+ * InvalidationChangeLogRepository 인터페이스는 무효화 변경 로그(InvalidationChangeLog)에 대한 데이터 접근을 관리합니다.
+ */
+@Repository
+public interface InvalidationChangeLogRepository extends JpaRepository<InvalidationChangeLog, Long> {
+
+    /**
+     * 주어진 id 이후의 변경 로그를 id 순으로 조회합니다.
+     *
+     * @param id 마지막으로 읽은 변경 로그 id
+     * @param pageable 한 번에 읽을 최대 행 수
+     * @return id 오름차순의 변경 로그 목록
+     */
+    List<InvalidationChangeLog> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    /**
+     * 보관 기간이 지난 변경 로그를 삭제합니다.
+     *
+     * @param cutoff 이 시각(epoch millis) 이전에 생성된 행을 삭제합니다.
+     * @return 삭제된 행 수
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from InvalidationChangeLog c where c.createdAt < :cutoff")
+    int deleteCreatedBefore(@Param("cutoff") long cutoff);
+}
@@ -0,0 +1,48 @@
+package com.codewithprojects.springsecurity.repository;
+
+import com.codewithprojects.springsecurity.entities.Tenant;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * TenantRepository 인터페이스는 테넌트(Tenant) 엔티티에 대한 데이터 접근을 관리합니다.
+ */
+@Repository
+public interface TenantRepository extends JpaRepository<Tenant, Long> {
+
+    /**
+     * 테넌트 식별자(code)로 테넌트를 찾습니다.
+     *
+     * @param code 요청 헤더로 전달된 테넌트 식별자
+     * @return 해당 테넌트의 Optional 객체
+     */
+    Optional<Tenant> findByCode(String code);
+
+    /**
+     * 토큰 발급자(issuer)로 테넌트를 찾습니다.
+     *
+     * @param issuer 토큰의 iss 클레임 값
+     * @return 해당 테넌트의 Optional 객체
+     */
+    Optional<Tenant> findByIssuer(String issuer);
+
+    /**
+     * 활성화된 모든 테넌트의 식별자를 조회합니다.
+     *
+     * @return 활성 테넌트 식별자 목록
+     */
+    @Query("select t.code from Tenant t where t.enabled = true")
+    List<String> findEnabledCodes();
+
+    /**
+     * 활성화된 모든 테넌트의 토큰 발급자(issuer)를 조회합니다.
+     *
+     * @return 활성 테넌트 issuer 목록
+     */
+    @Query("select t.issuer from Tenant t where t.enabled = true")
+    List<String> findEnabledIssuers();
+}
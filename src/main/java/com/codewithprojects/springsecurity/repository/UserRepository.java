@@ -2,10 +2,15 @@ package com.codewithprojects.springsecurity.repository;
 
 import com.codewithprojects.springsecurity.entities.Role;
 import com.codewithprojects.springsecurity.entities.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * UserRepository 인터페이스는 사용자(User) 엔티티에 대한 데이터 접근을 관리합니다.
@@ -35,4 +40,24 @@ public interface UserRepository extends JpaRepository<User, Long> {
      * @return 해당 역할을 가진 사용자 객체, 또는 사용자가 존재하지 않을 경우 null
      */
     User findByRole(Role role);
+
+    /**
+     * 주어진 이메일 주소를 가진 사용자가 존재하는지 확인합니다.
+     *
+     * @param email 확인할 이메일 주소
+     * @return 사용자가 존재하면 true, 그렇지 않으면 false
+     */
+    boolean existsByEmail(String email);
+
+    /**
+     * 모든 사용자의 이메일 주소를 스트림으로 조회합니다.
+     * MySQL Connector/J 는 fetch size 가 Integer.MIN_VALUE 일 때만 행 단위로 스트리밍하고, 그 외에는 결과 전체를
+     * 메모리에 버퍼링하므로 힌트로 지정합니다. 스트리밍 중에는 같은 커넥션으로 다른 쿼리를 실행할 수 없으므로
+     * 전용 트랜잭션 안에서 사용하고, 사용 후 스트림을 닫아야 합니다.
+     *
+     * @return 이메일 주소 스트림
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query("select u.email from User u")
+    Stream<String> streamAllEmails();
 }
\ No newline at end of file
@@ -3,8 +3,8 @@ package com.codewithprojects.springsecurity.service;
 import com.codewithprojects.springsecurity.dto.JwtAuthenticationResponse;
 import com.codewithprojects.springsecurity.dto.RefreshTokenRequest;
 import com.codewithprojects.springsecurity.dto.SignUpRequest;
+import com.codewithprojects.springsecurity.dto.SignUpResponse;
 import com.codewithprojects.springsecurity.dto.SigninRequest;
-import com.codewithprojects.springsecurity.entities.User;
 
 /**
  * AuthenticationService 인터페이스는 사용자 인증 관련 서비스를 정의합니다.
@@ -18,10 +18,10 @@ public interface AuthenticationService {
      *
      * @param signUpRequest 사용자 등록을 위한 정보가 담긴 SignUpRequest 객체.
      *                      이 객체에는 사용자의 이메일, 이름, 성, 비밀번호 등이 포함됩니다.
-     * @return 등록된 새로운 User 객체. 이 객체는 사용자의 이메일, 이름, 성, 역할(Role.USER),
-     *         및 암호화된 비밀번호를 포함합니다.
+     * @return 등록된 사용자의 정보를 담은 SignUpResponse 객체. 이 객체는 사용자의 ID, 이메일, 이름, 성,
+     *         역할(Role.USER)을 포함하며 비밀번호 해시는 포함하지 않습니다.
      */
-    User signup(SignUpRequest signUpRequest);
+    SignUpResponse signup(SignUpRequest signUpRequest);
 
     /**
      * 사용자의 로그인 요청을 처리합니다.
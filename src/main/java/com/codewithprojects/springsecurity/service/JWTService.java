@@ -1,5 +1,6 @@
 package com.codewithprojects.springsecurity.service;
 
+import io.jsonwebtoken.Claims;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Map;
@@ -43,4 +44,38 @@ public interface JWTService {
      * @return 토큰이 유효하면 true, 그렇지 않으면 false
      */
     boolean isTokenValid(String token, UserDetails userDetails);
+
+    /**
+     * JWT 토큰의 서명과 만료, 발급 테넌트를 검증하고 클레임을 반환합니다.
+     * 한 토큰으로 여러 판단을 해야 할 때 이 메서드로 한 번만 검증한 뒤 클레임을 재사용합니다.
+     *
+     * @param token 검사할 JWT 토큰
+     * @return 검증된 토큰의 클레임
+     * @throws io.jsonwebtoken.JwtException 토큰이 유효하지 않을 경우 발생합니다.
+     */
+    Claims parseToken(String token);
+
+    /**
+     * parseToken() 으로 검증된 클레임이 사용자와 일치하고 만료·폐기되지 않았는지 확인합니다.
+     *
+     * @param claims parseToken() 이 반환한 클레임
+     * @param userDetails 검증에 사용할 사용자의 상세 정보
+     * @return 토큰이 유효하면 true, 그렇지 않으면 false
+     */
+    boolean isTokenValid(Claims claims, UserDetails userDetails);
+
+    /**
+     * 토큰이 수명 중 설정된 비율 이상 경과하여 다시 서명할 시점인지 확인합니다.
+     *
+     * @param claims parseToken() 이 반환한 클레임
+     * @return 재발급 기준 시점을 지났으면 true, 아니면 false
+     */
+    boolean isDueForReissue(Claims claims);
+
+    /**
+     * 사용자에게 지금까지 발급된 모든 토큰을 폐기하고, 모든 노드에 폐기 사실을 전파합니다.
+     *
+     * @param username 토큰을 폐기할 사용자 이름(이메일)
+     */
+    void revokeTokens(String username);
 }
\ No newline at end of file
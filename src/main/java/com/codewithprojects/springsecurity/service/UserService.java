@@ -15,4 +15,11 @@ public interface UserService {
      * @return UserDetailsService 인스턴스
      */
     UserDetailsService userDetailsService();
+
+    /**
+     * 사용자 정보(역할 등)가 바뀐 뒤 모든 노드의 사용자 캐시를 무효화합니다.
+     *
+     * @param email 정보가 바뀐 사용자의 이메일 주소
+     */
+    void evictUser(String email);
 }
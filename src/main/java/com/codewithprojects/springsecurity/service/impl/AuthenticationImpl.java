@@ -1,20 +1,38 @@
 package com.codewithprojects.springsecurity.service.impl;
 
+import com.codewithprojects.springsecurity.audit.AuthAuditEventType;
+import com.codewithprojects.springsecurity.audit.AuthAuditPublisher;
+import com.codewithprojects.springsecurity.config.JwtProperties;
 import com.codewithprojects.springsecurity.dto.JwtAuthenticationResponse;
 import com.codewithprojects.springsecurity.dto.RefreshTokenRequest;
 import com.codewithprojects.springsecurity.dto.SignUpRequest;
+import com.codewithprojects.springsecurity.dto.SignUpResponse;
 import com.codewithprojects.springsecurity.dto.SigninRequest;
 import com.codewithprojects.springsecurity.entities.Role;
 import com.codewithprojects.springsecurity.entities.User;
 import com.codewithprojects.springsecurity.repository.UserRepository;
 import com.codewithprojects.springsecurity.service.AuthenticationService;
 import com.codewithprojects.springsecurity.service.JWTService;
+import com.codewithprojects.springsecurity.signup.EmailExistenceFilter;
+import com.codewithprojects.springsecurity.signup.UserSignedUpEvent;
+import com.codewithprojects.springsecurity.tracing.AuthLatencyTracer;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.util.HashMap;
 
@@ -30,24 +48,55 @@ public class AuthenticationImpl implements AuthenticationService {
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager;
     private final JWTService jwtService;
+    private final AuthLatencyTracer tracer;
+    private final AuthAuditPublisher auditPublisher;
+    private final JwtProperties jwtProperties;
+    private final EmailExistenceFilter emailExistenceFilter;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * signup 메서드는 사용자 등록 과정을 처리합니다.
      * 이 메서드는 SignUpRequest 객체를 받아 새로운 사용자(User)를 생성하고 저장합니다.
      *
+     * 이메일 중복 확인은 먼저 메모리의 EmailExistenceFilter로 수행하여, 확실히 새로운 이메일이면 DB 조회를 생략합니다.
+     * 동시 가입 등으로 인한 중복은 email 컬럼의 unique 인덱스가 최종적으로 막습니다.
+     * 감사 로그는 AuthAuditPublisher 의 링 버퍼에 바로 넣으며(요청 스레드를 막지 않음),
+     * 환영 처리 같은 후속 작업은 UserSignedUpEvent를 통해 비동기로 처리됩니다.
+     *
      * @param signUpRequest 사용자 등록을 위해 필요한 정보를 담은 SignUpRequest 객체.
      *                      이 객체에는 사용자의 이메일, 이름, 성, 비밀번호 등이 포함됩니다.
-     * @return 저장된 User 객체. 이 객체는 등록된 사용자의 정보를 포함하며, 저장 후 반환됩니다.
-     *         User 객체는 사용자의 이메일, 이름, 성, 역할(Role.USER) 및 암호화된 비밀번호를 포함합니다.
+     * @return 등록된 사용자의 정보를 담은 SignUpResponse 객체. 비밀번호 해시는 포함하지 않습니다.
+     * @throws ResponseStatusException 이메일이 비어 있으면 400, 이미 가입된 이메일이면 409 상태로 발생합니다.
      */
-    public User signup(SignUpRequest signUpRequest){
+    public SignUpResponse signup(SignUpRequest signUpRequest){
+        String email = signUpRequest.getEmail();
+        if(!StringUtils.hasText(email)){
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Email is required");
+        }
+
+        // 필터가 "없음"이라고 답하면 DB 조회 없이 진행하고, "있을 수 있음"일 때만 DB로 확인합니다.
+        if(emailExistenceFilter.mightContain(email) && userRepository.existsByEmail(email)){
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Email already registered");
+        }
+
         User userEntity = new User();
-        userEntity.setEmail(signUpRequest.getEmail());
+        userEntity.setEmail(email);
         userEntity.setFirstname(signUpRequest.getFirstname());
         userEntity.setSecondname(signUpRequest.getLastname());
         userEntity.setRole(Role.USER);
         userEntity.setPassword(passwordEncoder.encode(signUpRequest.getPassword()));
-        return userRepository.save(userEntity);
+
+        User saved;
+        try {
+            saved = userRepository.save(userEntity);
+        } catch (DataIntegrityViolationException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "Email already registered");
+        }
+
+        emailExistenceFilter.put(email);
+        auditPublisher.publish(AuthAuditEventType.SIGNUP, saved.getEmail(), currentRemoteAddress(), null);
+        eventPublisher.publishEvent(new UserSignedUpEvent(saved.getId(), saved.getEmail()));
+        return SignUpResponse.from(saved);
     }
 
     /**
@@ -62,39 +111,108 @@ public class AuthenticationImpl implements AuthenticationService {
      */
     public JwtAuthenticationResponse signin(SigninRequest signinRequest) {
         // 사용자 인증을 위해 AuthenticationManager를 사용합니다.
-        authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(signinRequest.getEmail(), signinRequest.getPassword())
-        );
+        try {
+            tracer.stage("signin.authenticate", () -> authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(signinRequest.getEmail(), signinRequest.getPassword())
+            ));
+        } catch (AuthenticationException e) {
+            auditPublisher.publish(AuthAuditEventType.SIGNIN_FAILURE, signinRequest.getEmail(), currentRemoteAddress(), e.getClass().getSimpleName());
+            throw e;
+        }
 
         // 사용자 이메일을 기반으로 사용자 정보를 조회합니다.
-        User userEntity = userRepository.findByEmail(signinRequest.getEmail())
-                .orElseThrow(() -> new UsernameNotFoundException("Invalid email or password"));
+        User userEntity = tracer.stage("signin.load", () -> userRepository.findByEmail(signinRequest.getEmail())
+                .orElseThrow(() -> new UsernameNotFoundException("Invalid email or password")));
 
         // JWT 액세스 토큰 및 리프레시 토큰을 생성합니다.
-        String accessToken = jwtService.generateAccessToken(userEntity);
-        String refreshToken = jwtService.generateRefreshToken(new HashMap<>(), userEntity);
+        String accessToken = tracer.stage("signin.issue.access", () -> jwtService.generateAccessToken(userEntity));
+        String refreshToken = tracer.stage("signin.issue.refresh",
+                () -> jwtService.generateRefreshToken(new HashMap<>(), userEntity));
 
         // 생성된 토큰을 응답 객체에 담아 반환합니다.
         JwtAuthenticationResponse jwtAuthenticationResponse = new JwtAuthenticationResponse();
         jwtAuthenticationResponse.setAccessToken(accessToken);
         jwtAuthenticationResponse.setRefreshToken(refreshToken);
+        auditPublisher.publish(AuthAuditEventType.SIGNIN_SUCCESS, userEntity.getEmail(), currentRemoteAddress(), null);
         return jwtAuthenticationResponse;
     }
 
+    /**
+     * refreshToken 메서드는 리프레시 토큰으로 액세스 토큰을 재발급합니다.
+     * sliding 세션(auth.jwt.sliding.enabled)이 켜져 있으면 요청에 담긴 액세스 토큰과 리프레시 토큰이
+     * 수명의 설정 비율을 지나지 않은 경우 새로 서명하지 않고 그대로 돌려줍니다.
+     *
+     * 서명 검증 비용을 줄이기 위해 각 토큰은 한 번만 검증하고, 이후 판단은 검증된 클레임으로 합니다.
+     *
+     * @param refreshTokenRequest 리프레시 토큰과 (선택적으로) 현재 액세스 토큰을 담은 요청 객체.
+     * @return JwtAuthenticationResponse 객체, 리프레시 토큰이 유효하지 않으면 null
+     */
     public JwtAuthenticationResponse refreshToken(RefreshTokenRequest refreshTokenRequest){
-        String userEmail = jwtService.extractUserName(refreshTokenRequest.getRefreshToken());
-        User userEntity = userRepository.findByEmail(userEmail).orElseThrow();
+        Claims refreshClaims;
+        try {
+            refreshClaims = tracer.stage("refresh.parse", () -> jwtService.parseToken(refreshTokenRequest.getRefreshToken()));
+        } catch (JwtException e) {
+            auditPublisher.publish(AuthAuditEventType.TOKEN_REFRESH_FAILURE, null, currentRemoteAddress(), e.getClass().getSimpleName());
+            throw e;
+        }
+        String userEmail = refreshClaims.getSubject();
+        User userEntity = tracer.stage("refresh.load", () -> userRepository.findByEmail(userEmail).orElseThrow());
+
+        if(tracer.stage("refresh.verify", () -> jwtService.isTokenValid(refreshClaims, userEntity))){
+            boolean sliding = jwtProperties.getSliding().isEnabled();
 
-        if(jwtService.isTokenValid(refreshTokenRequest.getRefreshToken(), userEntity)){
-            String accessToken = jwtService.generateAccessToken(userEntity);
+            // sliding 세션에서는 아직 충분히 신선한 액세스 토큰을 그대로 재사용합니다.
+            String accessToken = sliding && isReusable(refreshTokenRequest.getAccessToken(), userEntity)
+                    ? refreshTokenRequest.getAccessToken()
+                    : tracer.stage("refresh.issue.access", () -> jwtService.generateAccessToken(userEntity));
+
+            // sliding 세션에서는 리프레시 토큰도 수명의 설정 비율을 지난 경우에만 새로 서명합니다.
+            String refreshToken = sliding && jwtService.isDueForReissue(refreshClaims)
+                    ? tracer.stage("refresh.issue.refresh", () -> jwtService.generateRefreshToken(new HashMap<>(), userEntity))
+                    : refreshTokenRequest.getRefreshToken();
 
             // 생성된 토큰을 응답 객체에 담아 반환합니다.
             JwtAuthenticationResponse jwtAuthenticationResponse = new JwtAuthenticationResponse();
 
             jwtAuthenticationResponse.setAccessToken(accessToken);
-            jwtAuthenticationResponse.setRefreshToken(refreshTokenRequest.getRefreshToken());
+            jwtAuthenticationResponse.setRefreshToken(refreshToken);
+            auditPublisher.publish(AuthAuditEventType.TOKEN_REFRESH, userEmail, currentRemoteAddress(), null);
             return jwtAuthenticationResponse;
         }
+        auditPublisher.publish(AuthAuditEventType.TOKEN_REFRESH_FAILURE, userEmail, currentRemoteAddress(), "invalid token");
+        return null;
+    }
+
+    /**
+     * 요청에 담긴 액세스 토큰을 새로 서명하지 않고 그대로 돌려줄 수 있는지 확인합니다.
+     * 토큰은 한 번만 검증하고, 유효성과 재발급 시점 판단은 검증된 클레임으로 합니다.
+     *
+     * @param accessToken 요청에 담긴 액세스 토큰 (없을 수 있음)
+     * @param userEntity 리프레시 토큰의 사용자
+     * @return 토큰이 같은 사용자의 유효한 토큰이고 재발급 시점 전이면 true
+     */
+    private boolean isReusable(String accessToken, User userEntity){
+        if(accessToken == null || accessToken.isEmpty()){
+            return false;
+        }
+        try {
+            Claims claims = tracer.stage("refresh.parse.access", () -> jwtService.parseToken(accessToken));
+            return jwtService.isTokenValid(claims, userEntity) && !jwtService.isDueForReissue(claims);
+        } catch (JwtException e) {
+            return false;
+        }
+    }
+
+    /**
+     * 감사 로그에 남길 현재 요청의 IP 를 반환합니다. JwtAuthenticationFilter 와 같이 getRemoteAddr() 를 사용합니다.
+     *
+     * @return 요청 IP, 요청 밖에서 호출되면 null
+     */
+    private static String currentRemoteAddress(){
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if(attributes instanceof ServletRequestAttributes servletAttributes){
+            return servletAttributes.getRequest().getRemoteAddr();
+        }
         return null;
     }
 }
@@ -1,44 +1,108 @@
 package com.codewithprojects.springsecurity.service.impl;
 
+import com.codewithprojects.springsecurity.config.JwtProperties;
+import com.codewithprojects.springsecurity.entities.User;
+import com.codewithprojects.springsecurity.invalidation.InvalidationBus;
+import com.codewithprojects.springsecurity.invalidation.InvalidationType;
 import com.codewithprojects.springsecurity.service.JWTService;
+import com.codewithprojects.springsecurity.tenant.TenantPolicy;
+import com.codewithprojects.springsecurity.tenant.TenantPolicyCache;
+import com.codewithprojects.springsecurity.tenant.TenantResolver;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
-import io.jsonwebtoken.io.Decoders;
-import io.jsonwebtoken.io.Encoders;
-import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.SigningKeyResolverAdapter;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.security.Key;
-import java.security.SecureRandom;
-import java.util.Base64;
+import java.time.Clock;
+import java.time.Duration;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Function;
 
 /**
  * JWTServiceImpl 클래스는 JWT 처리를 위한 서비스를 구현합니다.
  * 이 클래스는 JWT의 생성, 추출, 유효성 검증 등의 기능을 제공합니다.
+ *
+ * 토큰은 테넌트별 정책(서명 키, issuer, audience, 수명, 역할 매핑)으로 발급됩니다.
+ * 발급 시에는 사용자의 소속 테넌트로(테넌트 헤더는 소속과 일치하는지만 확인), 검증 시에는 토큰의 iss 클레임으로
+ * 테넌트를 결정합니다.
+ *
+ * 토큰 폐기는 사용자별 "이 시각 이전에 발급된 토큰은 무효" 기준 시각으로 관리되며,
+ * InvalidationBus 를 통해 모든 노드에 전파됩니다. 기준 시각과 비교할 수 있도록 토큰에는 밀리초 단위 발급 시각
+ * (iat_ms 클레임)을 함께 싣습니다. 기준 시각 이전에 발급된 토큰이 모두 만료되면 그 기준 시각은 메모리에서 제거합니다.
  */
 @Service
 public class JWTServiceImpl implements JWTService {
 
+    private static final String ROLES_CLAIM = "roles";
+    private static final String ISSUED_AT_MILLIS_CLAIM = "iat_ms";
+    private static final long PURGE_INTERVAL_MILLIS = Duration.ofMinutes(1).toMillis();
+
+    private final TenantPolicyCache tenantPolicyCache;
+    private final TenantResolver tenantResolver;
+    private final JwtProperties jwtProperties;
+    private final Clock clock;
+    private final InvalidationBus invalidationBus;
+    private final JwtParser parser;
+
+    // 사용자 이름 → 이 시각(epoch millis) 이전에 발급된 토큰은 폐기됨
+    private final ConcurrentHashMap<String, Long> revokedBefore = new ConcurrentHashMap<>();
+    // 이 노드가 발급하거나 검증한 토큰 중 가장 긴 수명. 폐기 기준 시각을 얼마나 오래 보관할지 정합니다.
+    private final AtomicLong longestTokenLifetimeMillis = new AtomicLong();
+    private final AtomicLong lastPurgeMillis = new AtomicLong();
+
+    public JWTServiceImpl(TenantPolicyCache tenantPolicyCache, TenantResolver tenantResolver,
+                          JwtProperties jwtProperties, Clock clock, InvalidationBus invalidationBus) {
+        this.tenantPolicyCache = tenantPolicyCache;
+        this.tenantResolver = tenantResolver;
+        this.jwtProperties = jwtProperties;
+        this.clock = clock;
+        this.invalidationBus = invalidationBus;
+        this.longestTokenLifetimeMillis.set(Math.max(jwtProperties.getAccessTokenTtl().toMillis(),
+                jwtProperties.getRefreshTokenTtl().toMillis()));
+        invalidationBus.subscribe(event -> {
+            if(event.getType() == InvalidationType.TOKEN_REVOCATION){
+                revokedBefore.merge(event.getKey(), event.getTimestampMillis(), Long::max);
+                purgeExpiredRevocationsIfDue();
+            }
+        });
+        // 서명 키는 토큰의 iss 클레임으로 찾은 테넌트 정책에서 가져오므로 파서는 한 번만 만들어 재사용합니다.
+        this.parser = Jwts.parserBuilder()
+                .setSigningKeyResolver(new SigningKeyResolverAdapter() {
+                    @Override
+                    public Key resolveSigningKey(JwsHeader header, Claims claims) {
+                        return policyForIssuer(claims.getIssuer()).getSigningKey();
+                    }
+                })
+                .setClock(() -> new Date(clock.millis()))
+                .build();
+    }
+
     /**
      * 주어진 사용자의 상세 정보를 바탕으로 JWT 액세스 토큰을 생성합니다.
-     * 토큰에는 사용자 이름과 발행 시간, 만료 시간이 포함됩니다.
-     * 기본 만료 시간은 현재 시간으로부터 24시간입니다.
+     * 토큰에는 사용자 이름과 발행 시간, 만료 시간, 테넌트의 issuer/audience 및 역할이 포함됩니다.
+     * 만료 시간은 테넌트 정책의 액세스 토큰 수명을 따릅니다.
      *
      * @param userDetails 사용자의 상세 정보
      * @return 생성된 JWT 액세스 토큰
      */
     public String generateAccessToken(UserDetails userDetails){
-        return Jwts.builder()
-                .setSubject(userDetails.getUsername())
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 60 * 24)) // 1000(1ms), 1000 * 60(1초), 1000 * 60 * 60(1시간) * 1000 * 60 * 60 * 24(하루)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
-                .compact();
+        TenantPolicy policy = issuingPolicy(userDetails);
+        return buildToken(new HashMap<>(), userDetails, policy, policy.getAccessTokenTtl());
     }
 
     /**
@@ -50,12 +114,32 @@ public class JWTServiceImpl implements JWTService {
      * @return 생성된 JWT 리프레시 토큰
      */
     public String generateRefreshToken(Map<String, Object> extraClaims, UserDetails userDetails){
+        TenantPolicy policy = issuingPolicy(userDetails);
+        return buildToken(extraClaims, userDetails, policy, policy.getRefreshTokenTtl());
+    }
+
+    /**
+     * 테넌트 정책에 따라 서명된 JWT 토큰을 생성합니다.
+     *
+     * @param extraClaims 추가적인 클레임 정보
+     * @param userDetails 사용자의 상세 정보
+     * @param policy 발급 테넌트의 정책
+     * @param ttl 토큰 수명
+     * @return 생성된 JWT 토큰
+     */
+    private String buildToken(Map<String, Object> extraClaims, UserDetails userDetails, TenantPolicy policy, Duration ttl){
+        long now = clock.millis();
+        longestTokenLifetimeMillis.accumulateAndGet(ttl.toMillis(), Math::max);
         return Jwts.builder()
                 .setClaims(extraClaims)
                 .setSubject(userDetails.getUsername())
-                .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 60 * 24)) // 1000(1ms), 1000 * 60(1초), 1000 * 60 * 60(1시간) * 1000 * 60 * 60 * 24(하루)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS256)
+                .setIssuer(policy.getIssuer())
+                .setAudience(policy.getAudience())
+                .claim(ROLES_CLAIM, mapRoles(userDetails, policy))
+                .setIssuedAt(new Date(now))
+                .claim(ISSUED_AT_MILLIS_CLAIM, now)
+                .setExpiration(new Date(now + ttl.toMillis()))
+                .signWith(policy.getSigningKey(), SignatureAlgorithm.HS256)
                 .compact();
     }
 
@@ -70,26 +154,54 @@ public class JWTServiceImpl implements JWTService {
     }
 
     /**
-     * JWT 토큰 서명에 사용될 키를 생성합니다.
-     * 이 키는 암호화된 문자열로부터 생성되며, 토큰의 무결성 및 보안을 보장하는 데 사용됩니다.
+     * 사용자가 소속된 테넌트의 정책을 반환합니다.
+     * 요청에 테넌트 헤더가 있으면 사용자의 소속 테넌트와 같아야 하며, 다른 테넌트의 토큰은 발급하지 않습니다.
+     * 존재 여부가 드러나지 않도록 알 수 없는 테넌트와 소속이 아닌 테넌트는 같은 응답으로 거부합니다.
      *
-     * @return JWT 서명에 사용될 키
+     * @param userDetails 토큰을 발급받을 사용자
+     * @return 발급에 사용할 테넌트 정책
+     * @throws ResponseStatusException 헤더의 테넌트가 사용자의 소속이 아니거나 존재하지 않으면 400 상태로 발생합니다.
      */
-    private Key getSigningKey(){
-        // 안전한 무작위 바이트 시퀀스 생성
-//        SecureRandom secureRandom = new SecureRandom();
-//        byte[] randomBytes = new byte[32]; // 256비트 키 생성
-//        secureRandom.nextBytes(randomBytes);
-//
-//        // Base64로 인코딩
-//        String encodedKey = Base64.getEncoder().encodeToString(randomBytes);
-//
-//        // 인코딩된 키 출력
-//        System.out.println(encodedKey);
+    private TenantPolicy issuingPolicy(UserDetails userDetails){
+        String userTenant = tenantCodeOf(userDetails);
+        String requestTenant = tenantResolver.currentTenantCode();
+        if(requestTenant != null && !requestTenant.equals(userTenant)){
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown tenant");
+        }
+        return tenantPolicyCache.forCode(userTenant)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown tenant"));
+    }
+
+    /**
+     * 사용자의 소속 테넌트 식별자를 반환합니다. 소속이 지정되지 않은 사용자는 기본 테넌트에 속합니다.
+     */
+    private String tenantCodeOf(UserDetails userDetails){
+        if(userDetails instanceof User user && StringUtils.hasText(user.getTenantCode())){
+            return user.getTenantCode();
+        }
+        return tenantPolicyCache.defaultPolicy().getCode();
+    }
+
+    /**
+     * 토큰의 iss 클레임으로 테넌트 정책을 찾습니다.
+     *
+     * @param issuer 토큰의 iss 클레임 값
+     * @return 발급 테넌트의 정책
+     * @throws JwtException issuer 가 없거나 알 수 없는 테넌트일 경우 발생합니다.
+     */
+    private TenantPolicy policyForIssuer(String issuer){
+        return tenantPolicyCache.forIssuer(issuer)
+                .orElseThrow(() -> new JwtException("Unknown token issuer"));
+    }
 
-        String encodedKey = "UbnBrNUd7fKatR98++HuvUYDLm38CFiVv0+Ja7wq6Sg=";
-        byte[] key = Decoders.BASE64.decode(encodedKey);
-        return Keys.hmacShaKeyFor(key);
+    /**
+     * 사용자의 권한을 테넌트의 역할 이름으로 변환합니다.
+     */
+    private static List<String> mapRoles(UserDetails userDetails, TenantPolicy policy){
+        return userDetails.getAuthorities().stream()
+                .map(GrantedAuthority::getAuthority)
+                .map(policy::mapAuthority)
+                .toList();
     }
 
     /**
@@ -101,42 +213,134 @@ public class JWTServiceImpl implements JWTService {
      * @return 추출된 정보
      */
     private <T> T extractClaim(String token, Function<Claims, T> claimsResolvers){
-        final Claims claims = extractAllClaims(token);
+        final Claims claims = parseToken(token);
         return claimsResolvers.apply(claims);
     }
 
     /**
      * JWT 토큰에서 모든 클레임 정보를 추출합니다.
-     * 이 정보는 토큰의 유효성 검증, 사용자 인증 등에 사용됩니다.
+     * 서명은 발급 테넌트의 키로 검증되며, audience 가 테넌트 정책과 다르거나
+     * 요청의 테넌트 헤더와 토큰의 테넌트가 다르면 거부됩니다.
      *
      * @param token JWT 토큰
      * @return 추출된 모든 클레임 정보
+     * @throws JwtException 토큰이 유효하지 않거나 다른 테넌트의 토큰일 경우 발생합니다.
      */
-    private Claims extractAllClaims(String token){
-        return Jwts.parserBuilder().setSigningKey(getSigningKey()).build().parseClaimsJws(token).getBody();
+    public Claims parseToken(String token){
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        TenantPolicy policy = policyForIssuer(claims.getIssuer());
+        if(policy.getAudience() != null && !policy.getAudience().equals(claims.getAudience())){
+            throw new JwtException("Token audience mismatch");
+        }
+        String requestTenant = tenantResolver.currentTenantCode();
+        if(requestTenant != null && !requestTenant.equals(policy.getCode())){
+            throw new JwtException("Token tenant mismatch");
+        }
+        longestTokenLifetimeMillis.accumulateAndGet(
+                claims.getExpiration().getTime() - claims.getIssuedAt().getTime(), Math::max);
+        return claims;
     }
 
     /**
      * 주어진 JWT 토큰이 유효한지 확인합니다.
      * 이 메서드는 토큰이 만료되었는지, 그리고 사용자 상세 정보와 일치하는지 확인합니다.
+     * 토큰을 발급한 테넌트가 사용자의 소속 테넌트가 아니면 유효하지 않은 것으로 처리합니다.
      *
      * @param token 검사할 JWT 토큰
      * @param userDetails 검증에 사용할 사용자의 상세 정보
      * @return 토큰이 유효하면 true, 그렇지 않으면 false
      */
     public boolean isTokenValid(String token, UserDetails userDetails){
-        final String username = extractUserName(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
+        return isTokenValid(parseToken(token), userDetails);
+    }
+
+    /**
+     * parseToken() 으로 검증된 클레임이 사용자와 일치하고 만료·폐기되지 않았는지 확인합니다.
+     * 서명은 다시 검증하지 않습니다.
+     *
+     * @param claims parseToken() 이 반환한 클레임
+     * @param userDetails 검증에 사용할 사용자의 상세 정보
+     * @return 토큰이 유효하면 true, 그렇지 않으면 false
+     */
+    public boolean isTokenValid(Claims claims, UserDetails userDetails){
+        final String username = claims.getSubject();
+        return (username.equals(userDetails.getUsername()) && !isTokenExpired(claims) && !isRevoked(claims)
+                && policyForIssuer(claims.getIssuer()).getCode().equals(tenantCodeOf(userDetails)));
     }
 
     /**
      * JWT 토큰이 만료되었는지 확인합니다.
      *
-     * @param token 검사할 JWT 토큰
+     * @param claims 검사할 JWT 토큰의 클레임
      * @return 토큰이 만료되었으면 true, 아니면 false
      */
-    private boolean isTokenExpired(String token){
-        return extractClaim(token, Claims::getExpiration).before(new Date());
+    private boolean isTokenExpired(Claims claims){
+        return claims.getExpiration().before(new Date(clock.millis()));
+    }
+
+    /**
+     * JWT 토큰이 폐기 기준 시각 이전에 발급되었는지 확인합니다.
+     * 발급 시각은 밀리초 단위 iat_ms 클레임으로 비교하므로, 폐기 직후 같은 초에 다시 로그인해 받은 토큰은 유효합니다.
+     * iat_ms 가 없는 이전 토큰은 초 단위 iat 를 기준 시각의 초와 비교하여, 같은 초에 발급되었으면 폐기된 것으로 봅니다.
+     *
+     * @param claims 검사할 JWT 토큰의 클레임
+     * @return 토큰이 폐기되었으면 true, 아니면 false
+     */
+    private boolean isRevoked(Claims claims){
+        Long before = revokedBefore.get(claims.getSubject());
+        if(before == null){
+            return false;
+        }
+        Long issuedAtMillis = claims.get(ISSUED_AT_MILLIS_CLAIM, Long.class);
+        if(issuedAtMillis != null){
+            return issuedAtMillis < before;
+        }
+        return claims.getIssuedAt().getTime() / 1000 <= before / 1000;
+    }
+
+    /**
+     * 기준 시각 이전에 발급된 토큰이 모두 만료된 폐기 항목을 제거합니다. 1분에 한 번 정도만 수행합니다.
+     * 보관 기간은 이 노드가 발급하거나 검증한 토큰 중 가장 긴 수명이며, 기본값은 설정된 리프레시 토큰 수명입니다.
+     */
+    private void purgeExpiredRevocationsIfDue(){
+        long now = clock.millis();
+        long last = lastPurgeMillis.get();
+        if(now - last < PURGE_INTERVAL_MILLIS || !lastPurgeMillis.compareAndSet(last, now)){
+            return;
+        }
+        long expiredBefore = now - longestTokenLifetimeMillis.get();
+        revokedBefore.values().removeIf(before -> before < expiredBefore);
+    }
+
+    /**
+     * 현재 메모리에 보관 중인 폐기 기준 시각의 수. 테스트에서 정리 동작을 확인하는 데 사용합니다.
+     */
+    int revokedUserCount(){
+        return revokedBefore.size();
+    }
+
+    /**
+     * 사용자에게 지금까지 발급된 모든 토큰을 폐기합니다.
+     * 폐기 이벤트는 이 노드에 즉시 반영되고, InvalidationBus 를 통해 다른 노드에도 전파됩니다.
+     *
+     * @param username 토큰을 폐기할 사용자 이름(이메일)
+     */
+    public void revokeTokens(String username){
+        invalidationBus.publish(InvalidationType.TOKEN_REVOCATION, username);
+    }
+
+    /**
+     * 토큰이 수명 중 auth.jwt.sliding.reissue-fraction 비율 이상 경과했는지 확인합니다.
+     * sliding 세션에서 토큰을 새로 서명할 시점인지 판단하는 데 사용됩니다.
+     *
+     * @param claims parseToken() 이 반환한 클레임
+     * @return 재발급 기준 시점을 지났으면 true, 아니면 false
+     */
+    public boolean isDueForReissue(Claims claims){
+        long issuedAt = claims.getIssuedAt().getTime();
+        long lifetime = claims.getExpiration().getTime() - issuedAt;
+        long age = clock.millis() - issuedAt;
+        return age >= lifetime * jwtProperties.getSliding().getReissueFraction();
     }
 
 }
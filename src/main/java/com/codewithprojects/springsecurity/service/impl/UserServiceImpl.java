@@ -1,22 +1,73 @@
 package com.codewithprojects.springsecurity.service.impl;
 
+import com.codewithprojects.springsecurity.config.UserCacheProperties;
+import com.codewithprojects.springsecurity.entities.User;
+import com.codewithprojects.springsecurity.invalidation.InvalidationBus;
+import com.codewithprojects.springsecurity.invalidation.InvalidationType;
 import com.codewithprojects.springsecurity.repository.UserRepository;
 import com.codewithprojects.springsecurity.service.UserService;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * UserServiceImpl 클래스는 UserService 인터페이스를 구현합니다.
  * 이 클래스는 사용자 관련 데이터를 관리하고, 사용자 상세 정보를 제공하는 서비스를 구현합니다.
+ *
+ * 로드한 사용자 정보는 노드별 메모리에 짧게 캐시하며, 사용자 정보가 바뀌면 InvalidationBus 로
+ * 모든 노드에 무효화 이벤트를 전파합니다.
+ * 캐시가 maxEntries 에 도달하면 만료된 항목을 먼저 제거하고, 그래도 가득 차 있으면 가장 오래된 항목부터
+ * 한도의 10% 만 제거하여, 캐시 전체가 한꺼번에 비워져 모든 요청이 동시에 DB 를 조회하는 일이 없도록 합니다.
  */
 @Service
 @RequiredArgsConstructor
 public class UserServiceImpl implements UserService {
 
     private final UserRepository userRepository;
+    private final InvalidationBus invalidationBus;
+    private final UserCacheProperties cacheProperties;
+
+    private final ConcurrentHashMap<String, CachedUser> cache = new ConcurrentHashMap<>();
+
+    /**
+     * 캐시 항목. expiresAtNanos 는 System.nanoTime() 기준 만료 시각입니다.
+     */
+    private record CachedUser(User user, long expiresAtNanos) {
+    }
+
+    private final UserDetailsService userDetailsService = new UserDetailsService() {
+        /**
+         * 주어진 사용자 이름(이메일)으로 UserDetails 객체를 로드합니다.
+         * 해당 이메일 주소를 가진 사용자가 없는 경우 UsernameNotFoundException을 발생시킵니다.
+         *
+         * @param username 사용자의 이메일 주소
+         * @return 로드된 UserDetails 객체
+         * @throws UsernameNotFoundException 사용자가 존재하지 않을 때 발생하는 예외
+         */
+        @Override
+        public UserDetails loadUserByUsername(String username){
+            return loadUser(username);
+        }
+    };
+
+    /**
+     * 다른 노드(또는 이 노드)에서 사용자 정보가 바뀌었다는 이벤트를 받으면 캐시에서 제거합니다.
+     */
+    @PostConstruct
+    void subscribeInvalidations(){
+        invalidationBus.subscribe(event -> {
+            if(event.getType() == InvalidationType.USER){
+                cache.remove(event.getKey());
+            }
+        });
+    }
 
     /**
      * Spring Security의 UserDetailsService를 제공합니다.
@@ -26,20 +77,64 @@ public class UserServiceImpl implements UserService {
      */
     @Override
     public UserDetailsService userDetailsService(){
-        return new UserDetailsService() {
-            /**
-             * 주어진 사용자 이름(이메일)으로 UserDetails 객체를 로드합니다.
-             * 해당 이메일 주소를 가진 사용자가 없는 경우 UsernameNotFoundException을 발생시킵니다.
-             *
-             * @param username 사용자의 이메일 주소
-             * @return 로드된 UserDetails 객체
-             * @throws UsernameNotFoundException 사용자가 존재하지 않을 때 발생하는 예외
-             */
-            @Override
-            public UserDetails loadUserByUsername(String username){
-                return userRepository.findByEmail(username)
-                        .orElseThrow(() -> new UsernameNotFoundException("User not found"));
-            }
-        };
+        return userDetailsService;
+    }
+
+    /**
+     * 사용자 정보 캐시를 모든 노드에서 무효화합니다.
+     *
+     * @param email 정보가 바뀐 사용자의 이메일 주소
+     */
+    @Override
+    public void evictUser(String email){
+        invalidationBus.publish(InvalidationType.USER, email);
+    }
+
+    private User loadUser(String username){
+        long ttlNanos = cacheProperties.getTtl().toNanos();
+        if(ttlNanos <= 0){
+            return findUser(username);
+        }
+        long now = System.nanoTime();
+        CachedUser cached = cache.get(username);
+        if(cached != null && now - cached.expiresAtNanos() < 0){
+            return cached.user();
+        }
+        User user = findUser(username);
+        if(cache.size() >= cacheProperties.getMaxEntries() && !cache.containsKey(username)){
+            evictForSpace(now);
+        }
+        cache.put(username, new CachedUser(user, now + ttlNanos));
+        return user;
+    }
+
+    /**
+     * 만료된 항목을 제거하고, 그래도 한도에 도달해 있으면 만료가 가장 가까운(가장 오래 전에 읽은) 항목부터 제거합니다.
+     */
+    private void evictForSpace(long now){
+        cache.values().removeIf(cached -> now - cached.expiresAtNanos() >= 0);
+        int maxEntries = cacheProperties.getMaxEntries();
+        int excess = cache.size() - maxEntries + 1;
+        if(excess <= 0){
+            return;
+        }
+        cache.entrySet().stream()
+                .sorted(Comparator.comparingLong(entry -> entry.getValue().expiresAtNanos()))
+                .limit(Math.max(excess, maxEntries / 10))
+                .map(Map.Entry::getKey)
+                .toList()
+                .forEach(cache::remove);
+    }
+
+    /**
+     * 현재 캐시된 사용자 수. 테스트에서 캐시 제거 동작을 확인하는 데 사용합니다.
+     */
+    int cachedUserCount(){
+        return cache.size();
+    }
+
+    private User findUser(String username){
+        return userRepository.findByEmail(username)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
     }
 }
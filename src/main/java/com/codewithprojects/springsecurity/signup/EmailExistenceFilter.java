@@ -0,0 +1,142 @@
+package com.codewithprojects.springsecurity.signup;
+
+import com.codewithprojects.springsecurity.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Stream;
+
+/**
+ * EmailExistenceFilter 클래스는 가입된 이메일 주소를 담는 블룸 필터입니다.
+ *
+ * mightContain() 이 false 면 해당 이메일은 확실히 가입되어 있지 않으므로 회원가입 시 DB 조회를 생략할 수 있습니다.
+ * true 면 오탐일 수 있으므로 DB 로 다시 확인해야 합니다. 최종적인 중복 방지는 email 컬럼의 unique 인덱스가 담당합니다.
+ *
+ * 애플리케이션 시작 후 UserRepository 의 이메일 목록으로 채워지며, 채워지기 전에는 항상 true 를 반환합니다.
+ * 비트 배열은 AtomicLongArray 로 관리하여 잠금 없이 여러 스레드가 동시에 추가/조회할 수 있습니다.
+ */
+@Slf4j
+@Component
+public class EmailExistenceFilter {
+
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    private volatile boolean warmedUp;
+
+    public EmailExistenceFilter(UserRepository userRepository, TransactionTemplate transactionTemplate,
+                                SignUpProperties properties) {
+        this.userRepository = userRepository;
+        this.transactionTemplate = transactionTemplate;
+        long expected = Math.max(1, properties.getExpectedUsers());
+        double fpp = properties.getFalsePositiveRate();
+        // m = -n ln(p) / (ln 2)^2, k = m / n * ln 2
+        long optimalBits = (long) Math.ceil(-expected * Math.log(fpp) / (Math.log(2) * Math.log(2)));
+        int words = (int) Math.max(1, (optimalBits + 63) >>> 6);
+        this.bits = new AtomicLongArray(words);
+        this.bitCount = (long) words << 6;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / expected * Math.log(2)));
+    }
+
+    /**
+     * 애플리케이션 시작이 끝나면 기존 사용자 이메일로 필터를 채웁니다.
+     */
+    @Async("signupTaskExecutor")
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        long started = System.nanoTime();
+        Long loaded = transactionTemplate.execute(status -> {
+            long count = 0;
+            try (Stream<String> emails = userRepository.streamAllEmails()) {
+                Iterator<String> iterator = emails.iterator();
+                while (iterator.hasNext()) {
+                    String email = iterator.next();
+                    if (email != null) {
+                        put(email);
+                        count++;
+                    }
+                }
+            }
+            return count;
+        });
+        warmedUp = true;
+        log.info("Email existence filter warmed with {} emails in {} ms", loaded,
+                (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * 이메일을 필터에 추가합니다.
+     *
+     * @param email 가입된 이메일 주소
+     */
+    public void put(String email) {
+        long hash = hash(email);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = index(h1 + i * h2);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current;
+            while (((current = bits.get(word)) & mask) == 0
+                    && !bits.compareAndSet(word, current, current | mask)) {
+                // 다른 스레드가 같은 word 를 먼저 바꾼 경우 다시 시도합니다.
+            }
+        }
+    }
+
+    /**
+     * 이메일이 가입되어 있을 가능성이 있는지 확인합니다.
+     *
+     * @param email 확인할 이메일 주소
+     * @return 가입되어 있을 수 있으면 true, 확실히 가입되어 있지 않으면 false
+     */
+    public boolean mightContain(String email) {
+        if (!warmedUp) {
+            return true;
+        }
+        long hash = hash(email);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = index(h1 + i * h2);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long index(int combinedHash) {
+        return (combinedHash & Integer.MAX_VALUE) % bitCount;
+    }
+
+    /**
+     * 대소문자를 구분하지 않는 64비트 FNV-1a 해시를 계산합니다.
+     * DB 의 이메일 비교가 대소문자를 구분하지 않으므로 필터도 같은 기준을 사용합니다.
+     */
+    private static long hash(String email) {
+        String normalized = email.trim().toLowerCase(Locale.ROOT);
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < normalized.length(); i++) {
+            hash ^= normalized.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        // FNV 의 상위/하위 비트 분포를 고르게 하기 위해 한 번 더 섞습니다.
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,26 @@
+package com.codewithprojects.springsecurity.signup;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Async;
+import org.springframework.stereotype.Component;
+
+/**
+ * SignUpEventListener 클래스는 회원가입 이후의 후속 작업을 요청 스레드 밖에서 처리합니다.
+ * 실행기 큐가 가득 차면 작업이 버려질 수 있으므로, 유실되면 안 되는 작업(감사 로그 등)은 여기에 두지 않습니다.
+ */
+@Slf4j
+@Component
+public class SignUpEventListener {
+
+    /**
+     * 가입 완료 이벤트를 받아 환영 처리를 수행합니다.
+     *
+     * @param event 가입 완료 이벤트
+     */
+    @Async("signupTaskExecutor")
+    @EventListener
+    public void onUserSignedUp(UserSignedUpEvent event) {
+        log.info("Welcome, new user (id={})", event.getUserId());
+    }
+}
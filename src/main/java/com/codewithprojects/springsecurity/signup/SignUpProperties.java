@@ -0,0 +1,24 @@
+package com.codewithprojects.springsecurity.signup;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * SignUpProperties 클래스는 회원가입 파이프라인 설정을 담습니다.
+ * "auth.signup" 접두사로 application.yml 에서 값을 주입받습니다.
+ */
+@Data
+@ConfigurationProperties(prefix = "auth.signup")
+public class SignUpProperties {
+
+    /**
+     * 이메일 존재 여부 필터가 수용할 것으로 예상하는 사용자 수.
+     * 실제 사용자 수가 이를 크게 넘으면 오탐률이 올라가 DB 확인이 늘어납니다.
+     */
+    private int expectedUsers = 1_000_000;
+
+    /**
+     * 이메일 존재 여부 필터의 목표 오탐률.
+     */
+    private double falsePositiveRate = 0.01;
+}
@@ -0,0 +1,51 @@
+package com.codewithprojects.springsecurity.signup;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * UserEmailIndexCheck 클래스는 기동 시 user.email 에 unique 인덱스가 실제로 있는지 확인합니다.
+ *
+ * 회원가입의 최종 중복 방지는 이 인덱스가 담당하지만, 기존 DB 에 중복 이메일이 남아 있으면
+ * ddl-auto: update 의 ALTER 가 실패하고 Hibernate 는 경고만 남깁니다. 이 경우 인덱스가 없다는 사실과
+ * 중복 건수를 오류 로그로 남겨, 운영자가 db/user-email-unique.sql 을 적용하도록 합니다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserEmailIndexCheck {
+
+    private static final String UNIQUE_INDEX_SQL = """
+            SELECT COUNT(*) FROM information_schema.statistics
+            WHERE table_schema = DATABASE() AND table_name = 'user'
+              AND column_name = 'email' AND seq_in_index = 1 AND non_unique = 0""";
+
+    private static final String DUPLICATE_GROUPS_SQL = """
+            SELECT COUNT(*) FROM (SELECT email FROM `user` WHERE email IS NOT NULL
+                                  GROUP BY email HAVING COUNT(*) > 1) d""";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * 애플리케이션 시작이 끝나면 인덱스 존재 여부를 확인합니다.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void verify() {
+        try {
+            Integer indexes = jdbcTemplate.queryForObject(UNIQUE_INDEX_SQL, Integer.class);
+            if (indexes != null && indexes > 0) {
+                return;
+            }
+            Integer duplicates = jdbcTemplate.queryForObject(DUPLICATE_GROUPS_SQL, Integer.class);
+            log.error("user.email has no unique index ({} duplicated emails); concurrent signups can create duplicate "
+                    + "accounts. Apply db/user-email-unique.sql and restart.", duplicates);
+        } catch (DataAccessException e) {
+            log.warn("Could not verify the unique index on user.email", e);
+        }
+    }
+}
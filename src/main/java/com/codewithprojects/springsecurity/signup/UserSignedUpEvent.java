@@ -0,0 +1,14 @@
+package com.codewithprojects.springsecurity.signup;
+
+import lombok.Value;
+
+/**
+ * UserSignedUpEvent 클래스는 회원가입이 완료된 뒤 발행되는 애플리케이션 이벤트입니다.
+ * 환영 메시지 등 응답에 필요 없는 후속 작업은 이 이벤트를 받아 비동기로 처리합니다.
+ * 감사 로그는 실행기 큐가 가득 차도 유실되지 않도록 이 이벤트가 아닌 AuthAuditPublisher 로 직접 기록합니다.
+ */
+@Value
+public class UserSignedUpEvent {
+    Long userId;      // 가입한 사용자 ID
+    String email;     // 가입한 사용자의 이메일 주소
+}
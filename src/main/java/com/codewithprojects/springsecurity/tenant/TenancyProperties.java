@@ -0,0 +1,51 @@
+package com.codewithprojects.springsecurity.tenant;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * TenancyProperties 클래스는 멀티 테넌트 토큰 발급 설정을 담습니다.
+ * "auth.tenancy" 접두사로 application.yml 에서 값을 주입받습니다.
+ *
+ * 기본 테넌트는 데이터베이스가 아닌 설정 파일로 정의되며, 테넌트 헤더가 없는 요청에 사용됩니다.
+ */
+@Data
+@ConfigurationProperties(prefix = "auth.tenancy")
+public class TenancyProperties {
+
+    /**
+     * 테넌트 식별자를 전달하는 요청 헤더 이름.
+     */
+    private String headerName = "X-Tenant-ID";
+
+    /**
+     * 존재하지 않는 테넌트 조회 결과를 캐시하는 시간. 위조된 iss 로 DB 를 반복 조회하는 것을 막습니다.
+     */
+    private Duration negativeCacheTtl = Duration.ofSeconds(30);
+
+    /**
+     * 조회한 테넌트 정책과 활성 테넌트 식별자 목록을 캐시하는 시간.
+     * DB 에서 비활성화되거나 바뀐 테넌트는 invalidate() 가 호출되지 않아도 이 시간 안에 반영됩니다.
+     */
+    private Duration policyTtl = Duration.ofMinutes(5);
+
+    /**
+     * 식별자별, issuer 별 캐시가 각각 보관하는 최대 항목 수.
+     */
+    private int maxCachedPolicies = 10_000;
+
+    private DefaultTenant defaultTenant = new DefaultTenant();
+
+    @Data
+    public static class DefaultTenant {
+        private String code = "default";
+        private String issuer = "springsecurityjwt";
+        private String audience = "springsecurityjwt-api";
+        private String signingKey;
+        private Map<String, String> roleMapping = new LinkedHashMap<>();
+    }
+}
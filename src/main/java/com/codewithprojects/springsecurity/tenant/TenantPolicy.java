@@ -0,0 +1,32 @@
+package com.codewithprojects.springsecurity.tenant;
+
+import lombok.Value;
+
+import java.security.Key;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * TenantPolicy 클래스는 캐시에 보관되는 테넌트별 토큰 정책입니다.
+ * 서명 키는 생성 시 한 번만 디코딩되어 이후 발급/검증에 재사용됩니다.
+ */
+@Value
+public class TenantPolicy {
+    String code;
+    String issuer;
+    String audience;
+    Key signingKey;
+    Duration accessTokenTtl;
+    Duration refreshTokenTtl;
+    Map<String, String> roleMapping;
+
+    /**
+     * 내부 권한 이름을 이 테넌트의 토큰에 실을 역할 이름으로 바꿉니다.
+     *
+     * @param authority 내부 권한 이름 (예: "ADMIN")
+     * @return 매핑된 역할 이름, 매핑이 없으면 authority 그대로
+     */
+    public String mapAuthority(String authority) {
+        return roleMapping.getOrDefault(authority, authority);
+    }
+}
@@ -0,0 +1,317 @@
+package com.codewithprojects.springsecurity.tenant;
+
+import com.codewithprojects.springsecurity.config.JwtProperties;
+import com.codewithprojects.springsecurity.entities.Tenant;
+import com.codewithprojects.springsecurity.invalidation.InvalidationBus;
+import com.codewithprojects.springsecurity.invalidation.InvalidationType;
+import com.codewithprojects.springsecurity.repository.TenantRepository;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * TenantPolicyCache 클래스는 테넌트별 토큰 정책을 메모리에 캐시합니다.
+ *
+ * 토큰의 iss 클레임과 테넌트 헤더는 서명 검증 전에 호출자가 임의로 정할 수 있는 값이므로,
+ * 먼저 활성 테넌트의 식별자/issuer 목록(policyTtl 마다 갱신)과 비교하여 목록에 없는 값은 DB 를 조회하지 않고 거부합니다.
+ * 목록에 있는 테넌트의 정책은 처음 요청될 때 데이터베이스에서 읽어 policyTtl 동안 캐시하며,
+ * 같은 키에 대한 동시 조회는 한 번의 DB 조회로 합쳐집니다. DB 조회는 맵 잠금 밖에서 수행되므로,
+ * 새 테넌트를 읽는 동안에도 이미 캐시된 테넌트의 검증은 지연되지 않습니다.
+ * 사라진 테넌트는 negativeCacheTtl 동안 "없음"으로 캐시되고, 만료된 항목은 캐시가 maxCachedPolicies 에 도달하면 제거됩니다.
+ * 테넌트 정책이 바뀌면 invalidate() 로 모든 노드의 캐시 항목을 즉시 무효화할 수 있으며,
+ * 호출하지 않더라도 policyTtl 이 지나면 DB 의 값이 반영됩니다.
+ */
+@Component
+public class TenantPolicyCache {
+
+    private final TenantRepository tenantRepository;
+    private final TenancyProperties properties;
+    private final TenantPolicy defaultPolicy;
+    private final InvalidationBus invalidationBus;
+
+    private final PolicyMap byCode;
+    private final PolicyMap byIssuer;
+
+    private final Object knownTenantsLock = new Object();
+    private volatile KnownTenants knownTenants;
+
+    /**
+     * 캐시 항목. policy 가 null 이면 "존재하지 않음"을 뜻합니다. expiresAtNanos 이후에는 다시 조회합니다.
+     */
+    private record CachedPolicy(TenantPolicy policy, long expiresAtNanos) {
+
+        boolean isExpired(long nowNanos) {
+            return nowNanos - expiresAtNanos >= 0;
+        }
+    }
+
+    /**
+     * 활성 테넌트의 식별자와 issuer 목록. expiresAtNanos 이후에는 다시 조회합니다.
+     */
+    private record KnownTenants(Set<String> codes, Set<String> issuers, long expiresAtNanos) {
+    }
+
+    public TenantPolicyCache(TenantRepository tenantRepository, TenancyProperties properties, JwtProperties jwtProperties,
+                             InvalidationBus invalidationBus) {
+        this.tenantRepository = tenantRepository;
+        this.properties = properties;
+        this.invalidationBus = invalidationBus;
+        this.byCode = new PolicyMap(tenantRepository::findByCode);
+        this.byIssuer = new PolicyMap(tenantRepository::findByIssuer);
+        TenancyProperties.DefaultTenant defaults = properties.getDefaultTenant();
+        this.defaultPolicy = new TenantPolicy(
+                defaults.getCode(),
+                defaults.getIssuer(),
+                defaults.getAudience(),
+                Keys.hmacShaKeyFor(Decoders.BASE64.decode(defaults.getSigningKey())),
+                jwtProperties.getAccessTokenTtl(),
+                jwtProperties.getRefreshTokenTtl(),
+                Map.copyOf(defaults.getRoleMapping()));
+        invalidationBus.subscribe(event -> {
+            if (event.getType() == InvalidationType.TENANT) {
+                evict(event.getKey());
+            }
+        });
+    }
+
+    /**
+     * 설정 파일에 정의된 기본 테넌트 정책을 반환합니다.
+     */
+    public TenantPolicy defaultPolicy() {
+        return defaultPolicy;
+    }
+
+    /**
+     * 테넌트 식별자로 정책을 찾습니다.
+     *
+     * @param code 테넌트 식별자
+     * @return 테넌트 정책, 존재하지 않거나 비활성화된 테넌트면 빈 Optional
+     */
+    public Optional<TenantPolicy> forCode(String code) {
+        if (defaultPolicy.getCode().equals(code)) {
+            return Optional.of(defaultPolicy);
+        }
+        if (!StringUtils.hasText(code) || !knownTenants().codes().contains(code)) {
+            return Optional.empty();
+        }
+        return byCode.get(code);
+    }
+
+    /**
+     * 토큰 발급자(iss)로 정책을 찾습니다.
+     *
+     * @param issuer 토큰의 iss 클레임 값
+     * @return 테넌트 정책, 존재하지 않거나 비활성화된 테넌트면 빈 Optional
+     */
+    public Optional<TenantPolicy> forIssuer(String issuer) {
+        if (defaultPolicy.getIssuer().equals(issuer)) {
+            return Optional.of(defaultPolicy);
+        }
+        if (!StringUtils.hasText(issuer) || !knownTenants().issuers().contains(issuer)) {
+            return Optional.empty();
+        }
+        return byIssuer.get(issuer);
+    }
+
+    /**
+     * 테넌트 정책 변경을 모든 노드에 알려 캐시 항목을 무효화합니다.
+     *
+     * @param code 정책이 바뀐 테넌트 식별자
+     */
+    public void invalidate(String code) {
+        invalidationBus.publish(InvalidationType.TENANT, code);
+    }
+
+    /**
+     * 이 노드에서 한 테넌트의 캐시 항목을 제거합니다. 다음 조회 시 데이터베이스에서 다시 읽습니다.
+     * 새로 추가된 테넌트도 바로 보이도록 활성 테넌트 목록도 다시 읽게 합니다.
+     *
+     * @param code 테넌트 식별자
+     */
+    public void evict(String code) {
+        knownTenants = null;
+        byCode.remove(code);
+        byIssuer.removeIf(policy -> policy.getCode().equals(code));
+    }
+
+    /**
+     * 모든 테넌트 캐시를 비웁니다.
+     */
+    public void evictAll() {
+        knownTenants = null;
+        byCode.clear();
+        byIssuer.clear();
+    }
+
+    /**
+     * 활성 테넌트 목록을 반환합니다. 만료되었으면 한 스레드만 DB 에서 다시 읽고 나머지는 그 결과를 기다립니다.
+     */
+    private KnownTenants knownTenants() {
+        KnownTenants current = knownTenants;
+        if (current != null && System.nanoTime() - current.expiresAtNanos() < 0) {
+            return current;
+        }
+        synchronized (knownTenantsLock) {
+            current = knownTenants;
+            if (current != null && System.nanoTime() - current.expiresAtNanos() < 0) {
+                return current;
+            }
+            current = new KnownTenants(
+                    Set.copyOf(tenantRepository.findEnabledCodes()),
+                    Set.copyOf(tenantRepository.findEnabledIssuers()),
+                    System.nanoTime() + properties.getPolicyTtl().toNanos());
+            knownTenants = current;
+            return current;
+        }
+    }
+
+    /**
+     * 한 종류의 키(식별자 또는 issuer)로 찾는 정책 캐시입니다.
+     */
+    private final class PolicyMap {
+
+        private final ConcurrentHashMap<String, CachedPolicy> entries = new ConcurrentHashMap<>();
+        private final ConcurrentHashMap<String, CompletableFuture<CachedPolicy>> loading = new ConcurrentHashMap<>();
+        private final Function<String, Optional<Tenant>> loader;
+
+        PolicyMap(Function<String, Optional<Tenant>> loader) {
+            this.loader = loader;
+        }
+
+        /**
+         * 캐시된 정책을 반환하고, 없거나 만료되었으면 DB 에서 읽습니다.
+         * 같은 키를 동시에 읽는 스레드는 먼저 시작한 조회의 결과를 함께 사용합니다.
+         */
+        Optional<TenantPolicy> get(String key) {
+            CachedPolicy cached = entries.get(key);
+            if (cached != null && !cached.isExpired(System.nanoTime())) {
+                return Optional.ofNullable(cached.policy());
+            }
+            CompletableFuture<CachedPolicy> mine = new CompletableFuture<>();
+            CompletableFuture<CachedPolicy> inFlight = loading.putIfAbsent(key, mine);
+            if (inFlight != null) {
+                return Optional.ofNullable(await(inFlight).policy());
+            }
+            try {
+                CachedPolicy loaded = load(key);
+                put(key, loaded);
+                mine.complete(loaded);
+                return Optional.ofNullable(loaded.policy());
+            } catch (RuntimeException e) {
+                mine.completeExceptionally(e);
+                throw e;
+            } finally {
+                loading.remove(key, mine);
+            }
+        }
+
+        void remove(String key) {
+            entries.remove(key);
+        }
+
+        void removeIf(Predicate<TenantPolicy> predicate) {
+            entries.values().removeIf(cached -> cached.policy() != null && predicate.test(cached.policy()));
+        }
+
+        void clear() {
+            entries.clear();
+        }
+
+        int size() {
+            return entries.size();
+        }
+
+        private CachedPolicy load(String key) {
+            TenantPolicy policy = loader.apply(key)
+                    .filter(Tenant::isEnabled)
+                    .map(TenantPolicyCache.this::toPolicy)
+                    .orElse(null);
+            Duration ttl = policy != null ? properties.getPolicyTtl() : properties.getNegativeCacheTtl();
+            return new CachedPolicy(policy, System.nanoTime() + ttl.toNanos());
+        }
+
+        /**
+         * 캐시가 가득 차면 만료된 항목, "없음" 항목 순으로 제거하고, 그래도 가득 차 있으면 임의의 항목 하나를 제거한 뒤 넣습니다.
+         */
+        private void put(String key, CachedPolicy loaded) {
+            int max = properties.getMaxCachedPolicies();
+            if (entries.size() >= max && !entries.containsKey(key)) {
+                long now = System.nanoTime();
+                entries.values().removeIf(cached -> cached.isExpired(now));
+                if (entries.size() >= max) {
+                    entries.values().removeIf(cached -> cached.policy() == null);
+                }
+                Iterator<String> keys = entries.keySet().iterator();
+                while (entries.size() >= max && keys.hasNext()) {
+                    keys.next();
+                    keys.remove();
+                }
+            }
+            entries.put(key, loaded);
+        }
+
+        private static CachedPolicy await(CompletableFuture<CachedPolicy> future) {
+            try {
+                return future.join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException cause) {
+                    throw cause;
+                }
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * issuer 캐시에 보관 중인 항목 수. 테스트에서 캐시 크기 제한을 확인하는 데 사용합니다.
+     */
+    int cachedIssuerCount() {
+        return byIssuer.size();
+    }
+
+    private TenantPolicy toPolicy(Tenant tenant) {
+        return new TenantPolicy(
+                tenant.getCode(),
+                tenant.getIssuer(),
+                tenant.getAudience(),
+                Keys.hmacShaKeyFor(Decoders.BASE64.decode(tenant.getSigningKey())),
+                ttlOrDefault(tenant.getAccessTokenTtlSeconds(), defaultPolicy.getAccessTokenTtl()),
+                ttlOrDefault(tenant.getRefreshTokenTtlSeconds(), defaultPolicy.getRefreshTokenTtl()),
+                parseRoleMapping(tenant.getRoleMapping()));
+    }
+
+    private static Duration ttlOrDefault(Long seconds, Duration fallback) {
+        return seconds != null ? Duration.ofSeconds(seconds) : fallback;
+    }
+
+    /**
+     * "ADMIN=tenant-admin,USER=member" 형식의 역할 매핑 문자열을 맵으로 변환합니다.
+     */
+    private static Map<String, String> parseRoleMapping(String roleMapping) {
+        if (!StringUtils.hasText(roleMapping)) {
+            return Collections.emptyMap();
+        }
+        Map<String, String> mapping = new LinkedHashMap<>();
+        for (String pair : StringUtils.commaDelimitedListToStringArray(roleMapping)) {
+            String[] parts = pair.split("=", 2);
+            if (parts.length == 2) {
+                mapping.put(parts[0].trim(), parts[1].trim());
+            }
+        }
+        return Collections.unmodifiableMap(mapping);
+    }
+}
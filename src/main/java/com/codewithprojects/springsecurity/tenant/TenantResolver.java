@@ -0,0 +1,35 @@
+package com.codewithprojects.springsecurity.tenant;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+/**
+ * TenantResolver 클래스는 현재 요청이 어느 테넌트에 속하는지 판단합니다.
+ * 테넌트 식별자는 요청 헤더(기본값 "X-Tenant-ID")로 전달됩니다.
+ */
+@Component
+@RequiredArgsConstructor
+public class TenantResolver {
+
+    private final TenancyProperties properties;
+
+    /**
+     * 현재 요청의 테넌트 헤더 값을 반환합니다.
+     *
+     * @return 테넌트 식별자, 요청 밖이거나 헤더가 없으면 null
+     */
+    public String currentTenantCode() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servletAttributes) {
+            String code = servletAttributes.getRequest().getHeader(properties.getHeaderName());
+            if (StringUtils.hasText(code)) {
+                return code.trim();
+            }
+        }
+        return null;
+    }
+}
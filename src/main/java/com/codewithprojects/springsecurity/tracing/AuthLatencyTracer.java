@@ -0,0 +1,147 @@
+package com.codewithprojects.springsecurity.tracing;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * AuthLatencyTracer 클래스는 인증 경로의 단계별 지연 시간을 측정합니다.
+ *
+ * 각 단계는 Micrometer Observation 으로 감싸지므로, ObservationRegistry 빈이 등록되어 있으면
+ * (예: actuator + OpenTelemetry 브리지) 그대로 span 으로 내보내집니다.
+ * 이와 별개로 요청이 끝난 뒤 전체 시간이 임계값을 넘은 경우에만 단계별 내역을
+ * "auth.slow-requests" 로거에 남기는 tail sampling 로그를 제공합니다.
+ *
+ * 추적이 꺼져 있고 레지스트리도 없으면 각 단계는 ThreadLocal 조회 한 번 외에 추가 비용이 없습니다.
+ */
+@Component
+public class AuthLatencyTracer {
+
+    private static final String OBSERVATION_PREFIX = "auth.";
+    private static final Logger SLOW_LOG = LoggerFactory.getLogger("auth.slow-requests");
+
+    private static final ThreadLocal<AuthTrace> CURRENT = new ThreadLocal<>();
+
+    private final AuthTracingProperties properties;
+    private final ObservationRegistry registry;
+
+    public AuthLatencyTracer(AuthTracingProperties properties, ObjectProvider<ObservationRegistry> registryProvider) {
+        this.properties = properties;
+        this.registry = registryProvider.getIfAvailable(() -> ObservationRegistry.NOOP);
+    }
+
+    /**
+     * 필터 체인 안에서 실행되는 단계를 표현합니다.
+     */
+    @FunctionalInterface
+    public interface FilterStage {
+        void run() throws IOException, ServletException;
+    }
+
+    /**
+     * 요청에 대한 추적을 시작합니다. 추적이 꺼져 있으면 null 을 반환합니다.
+     *
+     * @param request 현재 HTTP 요청
+     * @return 시작된 추적 객체, 또는 추적이 꺼져 있으면 null
+     */
+    public AuthTrace begin(HttpServletRequest request) {
+        if (!properties.isEnabled()) {
+            return null;
+        }
+        AuthTrace trace = new AuthTrace(request.getMethod(), request.getRequestURI(), System.nanoTime());
+        CURRENT.set(trace);
+        return trace;
+    }
+
+    /**
+     * 요청 추적을 마칩니다. 전체 시간이 임계값 이상이고 샘플링에 포함되면 단계별 내역을 기록합니다.
+     *
+     * @param trace begin() 이 반환한 추적 객체 (null 이면 아무것도 하지 않습니다)
+     * @param response 현재 HTTP 응답
+     */
+    public void end(AuthTrace trace, HttpServletResponse response) {
+        if (trace == null) {
+            return;
+        }
+        CURRENT.remove();
+        long totalNanos = System.nanoTime() - trace.getStartNanos();
+        if (totalNanos < properties.getSlowThreshold().toNanos() || !sampled()) {
+            return;
+        }
+        if (SLOW_LOG.isWarnEnabled()) {
+            SLOW_LOG.warn("slow auth request {}", trace.describe(totalNanos, response.getStatus()));
+        }
+    }
+
+    /**
+     * 주어진 작업을 하나의 단계로 측정합니다.
+     *
+     * @param name 단계 이름 (예: "jwt.verify")
+     * @param work 측정할 작업
+     * @param <T> 작업 결과 타입
+     * @return 작업 결과
+     */
+    public <T> T stage(String name, Supplier<T> work) {
+        AuthTrace trace = CURRENT.get();
+        if (trace == null && registry.isNoop()) {
+            return work.get();
+        }
+        Observation observation = Observation.createNotStarted(OBSERVATION_PREFIX + name, registry).start();
+        long start = System.nanoTime();
+        try (Observation.Scope scope = observation.openScope()) {
+            return work.get();
+        } catch (RuntimeException e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            if (trace != null) {
+                trace.record(name, System.nanoTime() - start);
+            }
+            observation.stop();
+        }
+    }
+
+    /**
+     * 서블릿 예외를 던질 수 있는 작업(다음 필터 호출 등)을 하나의 단계로 측정합니다.
+     *
+     * @param name 단계 이름 (예: "chain")
+     * @param work 측정할 작업
+     * @throws IOException 입출력 처리 중 발생할 수 있는 예외
+     * @throws ServletException 요청 처리 중 발생할 수 있는 예외
+     */
+    public void filterStage(String name, FilterStage work) throws IOException, ServletException {
+        AuthTrace trace = CURRENT.get();
+        if (trace == null && registry.isNoop()) {
+            work.run();
+            return;
+        }
+        Observation observation = Observation.createNotStarted(OBSERVATION_PREFIX + name, registry).start();
+        long start = System.nanoTime();
+        try (Observation.Scope scope = observation.openScope()) {
+            work.run();
+        } catch (IOException | ServletException | RuntimeException e) {
+            observation.error(e);
+            throw e;
+        } finally {
+            if (trace != null) {
+                trace.record(name, System.nanoTime() - start);
+            }
+            observation.stop();
+        }
+    }
+
+    private boolean sampled() {
+        double rate = properties.getSampleRate();
+        return rate >= 1.0 || ThreadLocalRandom.current().nextDouble() < rate;
+    }
+}
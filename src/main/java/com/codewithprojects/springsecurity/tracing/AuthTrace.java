@@ -0,0 +1,69 @@
+package com.codewithprojects.springsecurity.tracing;
+
+import java.util.Locale;
+
+/**
+ * AuthTrace 클래스는 하나의 요청이 인증 경로의 각 단계에서 소비한 시간을 기록합니다.
+ * 요청 스레드 하나에서만 사용되므로 동기화하지 않으며, 단계 수는 고정 크기 배열로 제한합니다.
+ */
+public final class AuthTrace {
+
+    private static final int MAX_STAGES = 16;
+
+    private final String method;
+    private final String uri;
+    private final long startNanos;
+
+    private final String[] stageNames = new String[MAX_STAGES];
+    private final long[] stageNanos = new long[MAX_STAGES];
+    private int stageCount;
+
+    AuthTrace(String method, String uri, long startNanos) {
+        this.method = method;
+        this.uri = uri;
+        this.startNanos = startNanos;
+    }
+
+    /**
+     * 단계 하나의 소요 시간을 기록합니다. 배열이 가득 차면 이후 단계는 무시합니다.
+     *
+     * @param name 단계 이름
+     * @param nanos 소요 시간(나노초)
+     */
+    void record(String name, long nanos) {
+        if (stageCount < MAX_STAGES) {
+            stageNames[stageCount] = name;
+            stageNanos[stageCount] = nanos;
+            stageCount++;
+        }
+    }
+
+    long getStartNanos() {
+        return startNanos;
+    }
+
+    /**
+     * 요청 전체 시간과 단계별 시간을 한 줄의 로그 메시지로 만듭니다.
+     *
+     * @param totalNanos 요청 전체 소요 시간(나노초)
+     * @param status HTTP 응답 상태 코드
+     * @return 로그에 남길 문자열
+     */
+    String describe(long totalNanos, int status) {
+        StringBuilder sb = new StringBuilder(128)
+                .append(method).append(' ').append(uri)
+                .append(" status=").append(status)
+                .append(" total=").append(millis(totalNanos)).append("ms [");
+        for (int i = 0; i < stageCount; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            sb.append(stageNames[i]).append('=').append(millis(stageNanos[i])).append("ms");
+        }
+        return sb.append(']').toString();
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.2f", nanos / 1_000_000.0);
+    }
+}
@@ -0,0 +1,30 @@
+package com.codewithprojects.springsecurity.tracing;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * AuthTracingProperties 클래스는 인증 경로의 지연 시간 추적 설정을 담습니다.
+ * "auth.tracing" 접두사로 application.yml 에서 값을 주입받습니다.
+ */
+@Data
+@ConfigurationProperties(prefix = "auth.tracing")
+public class AuthTracingProperties {
+
+    /**
+     * 요청별 단계 시간 기록 여부. 꺼져 있으면 필터는 추적 객체를 만들지 않습니다.
+     */
+    private boolean enabled = false;
+
+    /**
+     * 이 시간 이상 걸린 요청만 느린 요청 로그에 남깁니다.
+     */
+    private Duration slowThreshold = Duration.ofMillis(500);
+
+    /**
+     * 임계값을 넘은 요청 중 실제로 기록할 비율(0.0 ~ 1.0)입니다.
+     */
+    private double sampleRate = 1.0;
+}
@@ -0,0 +1,41 @@
+-- user.email 에 unique 인덱스(uk_user_email)를 추가하는 1회성 마이그레이션 (MySQL)
+--
+-- 이전 버전은 회원가입 시 이메일 중복을 막지 않았으므로 기존 DB 에 중복 이메일이 있을 수 있습니다.
+-- 중복이 남아 있으면 ddl-auto: update 의 ALTER 가 실패하고 Hibernate 는 경고만 남긴 채 인덱스 없이 기동합니다.
+-- 애플리케이션을 배포하기 전에 이 스크립트를 한 번 실행하세요. 이미 인덱스가 있으면 마지막 ALTER 는 건너뜁니다.
+--
+-- 중복 그룹마다 id 가 가장 작은(가장 먼저 가입한) 계정의 이메일은 그대로 두고, 나머지 계정은 삭제하지 않고
+-- 이메일 뒤에 ".duplicate-<id>" 를 붙여 로그인할 수 없게 만듭니다. 정리 후 운영자가 개별적으로 병합/삭제합니다.
+
+-- 1. 바뀔 계정 확인
+SELECT u.id, u.email
+FROM `user` u
+JOIN (SELECT email, MIN(id) AS keep_id
+      FROM `user`
+      WHERE email IS NOT NULL
+      GROUP BY email
+      HAVING COUNT(*) > 1) d
+  ON u.email = d.email AND u.id <> d.keep_id;
+
+-- 2. 중복 계정 이메일 변경
+UPDATE `user` u
+JOIN (SELECT email, MIN(id) AS keep_id
+      FROM `user`
+      WHERE email IS NOT NULL
+      GROUP BY email
+      HAVING COUNT(*) > 1) d
+  ON u.email = d.email AND u.id <> d.keep_id
+SET u.email = CONCAT(u.email, '.duplicate-', u.id);
+
+-- 3. unique 인덱스 추가 (이미 있으면 건너뜀)
+SET @has_index = (SELECT COUNT(*)
+                  FROM information_schema.statistics
+                  WHERE table_schema = DATABASE()
+                    AND table_name = 'user'
+                    AND index_name = 'uk_user_email');
+SET @ddl = IF(@has_index = 0,
+              'ALTER TABLE `user` ADD CONSTRAINT uk_user_email UNIQUE (email)',
+              'SELECT ''uk_user_email already exists''');
+PREPARE stmt FROM @ddl;
+EXECUTE stmt;
+DEALLOCATE PREPARE stmt;
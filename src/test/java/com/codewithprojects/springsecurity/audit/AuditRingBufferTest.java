@@ -0,0 +1,128 @@
+package com.codewithprojects.springsecurity.audit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AuditRingBufferTest {
+
+	@Test
+	void capacityIsRoundedUpToPowerOfTwo() {
+		assertThat(new AuditRingBuffer<>(2).capacity()).isEqualTo(2);
+		assertThat(new AuditRingBuffer<>(5).capacity()).isEqualTo(8);
+		assertThat(new AuditRingBuffer<>(1024).capacity()).isEqualTo(1024);
+		assertThatThrownBy(() -> new AuditRingBuffer<>(1)).isInstanceOf(IllegalArgumentException.class);
+	}
+
+	@Test
+	void fullBufferRejectsOffersWithoutBlocking() {
+		AuditRingBuffer<Integer> buffer = new AuditRingBuffer<>(4);
+		for (int i = 0; i < 4; i++) {
+			assertThat(buffer.offer(i)).isTrue();
+		}
+
+		assertThat(buffer.offer(4)).isFalse();
+		assertThat(buffer.size()).isEqualTo(4);
+
+		assertThat(buffer.poll()).isEqualTo(0);
+		assertThat(buffer.offer(4)).isTrue();
+		assertThat(buffer.offer(5)).isFalse();
+	}
+
+	@Test
+	void pollOnEmptyBufferReturnsNull() {
+		AuditRingBuffer<String> buffer = new AuditRingBuffer<>(4);
+
+		assertThat(buffer.poll()).isNull();
+		assertThat(buffer.size()).isZero();
+	}
+
+	@Test
+	void preservesFifoOrderAcrossManyWraparounds() {
+		AuditRingBuffer<Integer> buffer = new AuditRingBuffer<>(4);
+		List<Integer> drained = new ArrayList<>();
+		int next = 0;
+		for (int round = 0; round < 100; round++) {
+			while (buffer.offer(next)) {
+				next++;
+			}
+			buffer.drainTo(drained, 3);
+		}
+		buffer.drainTo(drained, Integer.MAX_VALUE);
+
+		assertThat(drained).hasSize(next);
+		for (int i = 0; i < drained.size(); i++) {
+			assertThat(drained.get(i)).isEqualTo(i);
+		}
+	}
+
+	@Test
+	void drainToRespectsMaxElements() {
+		AuditRingBuffer<Integer> buffer = new AuditRingBuffer<>(8);
+		for (int i = 0; i < 6; i++) {
+			buffer.offer(i);
+		}
+		List<Integer> batch = new ArrayList<>();
+
+		assertThat(buffer.drainTo(batch, 4)).isEqualTo(4);
+		assertThat(batch).containsExactly(0, 1, 2, 3);
+		assertThat(buffer.size()).isEqualTo(2);
+	}
+
+	@Test
+	void concurrentProducersNeitherLoseNorDuplicateAcceptedElements() throws Exception {
+		int producers = 4;
+		int perProducer = 50_000;
+		AuditRingBuffer<Integer> buffer = new AuditRingBuffer<>(1024);
+		ExecutorService executor = Executors.newFixedThreadPool(producers);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<Integer>> accepted = new ArrayList<>();
+		for (int p = 0; p < producers; p++) {
+			int base = p * perProducer;
+			accepted.add(executor.submit(() -> {
+				start.await();
+				int count = 0;
+				for (int i = 0; i < perProducer; i++) {
+					if (buffer.offer(base + i)) {
+						count++;
+					}
+				}
+				return count;
+			}));
+		}
+
+		Set<Integer> consumed = new HashSet<>();
+		List<Integer> batch = new ArrayList<>();
+		start.countDown();
+		while (!accepted.stream().allMatch(Future::isDone)) {
+			batch.clear();
+			buffer.drainTo(batch, 256);
+			for (Integer element : batch) {
+				assertThat(consumed.add(element)).as("duplicate %s", element).isTrue();
+			}
+		}
+		batch.clear();
+		buffer.drainTo(batch, Integer.MAX_VALUE);
+		consumed.addAll(batch);
+		executor.shutdown();
+		assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+
+		int totalAccepted = 0;
+		for (Future<Integer> future : accepted) {
+			totalAccepted += future.get();
+		}
+		assertThat(consumed).hasSize(totalAccepted);
+	}
+
+}
@@ -0,0 +1,105 @@
+package com.codewithprojects.springsecurity.audit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuthAuditPublisherTest {
+
+	@Test
+	void stopDrainsQueuedEventsBeforeClosingWriter() {
+		RecordingWriter writer = new RecordingWriter();
+		AuthAuditPublisher publisher = new AuthAuditPublisher(new AuthAuditProperties(), writer);
+		publisher.start();
+
+		publisher.publish(AuthAuditEventType.SIGNIN_SUCCESS, "user@example.com", "10.0.0.1", null);
+		publisher.publish(AuthAuditEventType.SIGNIN_FAILURE, "user@example.com", "10.0.0.1", "BadCredentialsException");
+		publisher.stop();
+
+		assertThat(writer.events).extracting(AuthAuditEvent::getType)
+				.containsExactly(AuthAuditEventType.SIGNIN_SUCCESS, AuthAuditEventType.SIGNIN_FAILURE);
+		assertThat(writer.closed).isTrue();
+		assertThat(writer.writeAfterClose).isFalse();
+		assertThat(publisher.getWrittenCount()).isEqualTo(2);
+	}
+
+	@Test
+	void stopDoesNotCloseWriterWhileWriterThreadIsStillWriting() throws Exception {
+		CountDownLatch writing = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		RecordingWriter writer = new RecordingWriter() {
+			@Override
+			public void write(List<AuthAuditEvent> batch) {
+				writing.countDown();
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				super.write(batch);
+			}
+		};
+		AuthAuditPublisher publisher = new AuthAuditPublisher(new AuthAuditProperties(), writer);
+		publisher.start();
+		publisher.publish(AuthAuditEventType.TOKEN_REFRESH, "user@example.com", "10.0.0.1", null);
+		assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+
+		Thread stopper = new Thread(publisher::stop);
+		stopper.start();
+		stopper.join(TimeUnit.SECONDS.toMillis(7));
+
+		assertThat(stopper.isAlive()).isFalse();
+		assertThat(writer.closed).isFalse();
+
+		release.countDown();
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+		while (!writer.closed && System.nanoTime() < deadline) {
+			Thread.onSpinWait();
+		}
+		assertThat(writer.closed).isTrue();
+		assertThat(writer.writeAfterClose).isFalse();
+		assertThat(writer.events).hasSize(1);
+	}
+
+	@Test
+	void fullBufferDropsEventsAndCountsThem() {
+		AuthAuditProperties properties = new AuthAuditProperties();
+		properties.setCapacity(2);
+		AuthAuditPublisher publisher = new AuthAuditPublisher(properties, new RecordingWriter());
+
+		for (int i = 0; i < 5; i++) {
+			publisher.publish(AuthAuditEventType.TOKEN_REJECTED, null, "10.0.0.1", "invalid token");
+		}
+
+		assertThat(publisher.getPublishedCount()).isEqualTo(2);
+		assertThat(publisher.getDroppedCount()).isEqualTo(3);
+		assertThat(publisher.getQueueDepth()).isEqualTo(2);
+	}
+
+	private static class RecordingWriter implements AuditWriter {
+
+		final List<AuthAuditEvent> events = new CopyOnWriteArrayList<>();
+		volatile boolean closed;
+		volatile boolean writeAfterClose;
+
+		@Override
+		public void write(List<AuthAuditEvent> batch) {
+			if (closed) {
+				writeAfterClose = true;
+			}
+			events.addAll(batch);
+		}
+
+		@Override
+		public void close() {
+			closed = true;
+		}
+	}
+
+}
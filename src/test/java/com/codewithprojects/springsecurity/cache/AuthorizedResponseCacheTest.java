@@ -0,0 +1,69 @@
+package com.codewithprojects.springsecurity.cache;
+
+import com.codewithprojects.springsecurity.invalidation.InJvmInvalidationBus;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AuthorizedResponseCacheTest {
+
+	private static final String KEY = "/api/v1/user/profile";
+
+	@Test
+	void newUsersAreStillCachedAfterPartitionLimitIsReached() {
+		ResponseCacheProperties properties = new ResponseCacheProperties();
+		properties.setMaxPartitions(10);
+		AuthorizedResponseCache cache = new AuthorizedResponseCache(properties, new InJvmInvalidationBus(Clock.systemUTC()));
+
+		for (int i = 0; i < 25; i++) {
+			cache.put(partition("user" + i), KEY, response());
+		}
+
+		assertThat(cache.partitionCount()).isLessThanOrEqualTo(10);
+		assertThat(cache.get(partition("user24"), KEY)).isNotNull();
+	}
+
+	@Test
+	void recentlyUsedPartitionSurvivesEviction() {
+		ResponseCacheProperties properties = new ResponseCacheProperties();
+		properties.setMaxPartitions(10);
+		AuthorizedResponseCache cache = new AuthorizedResponseCache(properties, new InJvmInvalidationBus(Clock.systemUTC()));
+		for (int i = 0; i < 10; i++) {
+			cache.put(partition("user" + i), KEY, response());
+		}
+
+		cache.get(partition("user0"), KEY);
+		cache.put(partition("newcomer"), KEY, response());
+
+		assertThat(cache.get(partition("user0"), KEY)).isNotNull();
+		assertThat(cache.get(partition("user1"), KEY)).isNull();
+		assertThat(cache.get(partition("newcomer"), KEY)).isNotNull();
+	}
+
+	@Test
+	void idlePartitionsArePrunedWhenLimitIsReached() {
+		ResponseCacheProperties properties = new ResponseCacheProperties();
+		properties.setMaxPartitions(100);
+		properties.setTtl(Duration.ZERO);
+		AuthorizedResponseCache cache = new AuthorizedResponseCache(properties, new InJvmInvalidationBus(Clock.systemUTC()));
+		for (int i = 0; i < 100; i++) {
+			cache.put(partition("user" + i), KEY, response());
+		}
+
+		cache.put(partition("newcomer"), KEY, response());
+
+		assertThat(cache.partitionCount()).isEqualTo(1);
+	}
+
+	private static String partition(String username) {
+		return AuthorizedResponseCache.partitionKey(username, "ROLE_USER");
+	}
+
+	private static CachedResponse response() {
+		return new CachedResponse(new byte[]{1}, "text/plain", "\"etag\"", System.nanoTime() + Duration.ofMinutes(1).toNanos());
+	}
+
+}
@@ -0,0 +1,152 @@
+package com.codewithprojects.springsecurity.cache;
+
+import com.codewithprojects.springsecurity.invalidation.InJvmInvalidationBus;
+import com.codewithprojects.springsecurity.invalidation.InvalidationType;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConditionalResponseCacheFilterTest {
+
+	private static final String PATH = "/api/v1/user/profile";
+
+	private InJvmInvalidationBus invalidationBus;
+	private AuthorizedResponseCache cache;
+	private ConditionalResponseCacheFilter filter;
+	private final AtomicInteger controllerCalls = new AtomicInteger();
+
+	@BeforeEach
+	void setUp() {
+		invalidationBus = new InJvmInvalidationBus(Clock.systemUTC());
+		invalidationBus.start();
+		ResponseCacheProperties properties = new ResponseCacheProperties();
+		cache = new AuthorizedResponseCache(properties, invalidationBus);
+		cache.subscribeInvalidations();
+		filter = new ConditionalResponseCacheFilter(properties, cache);
+	}
+
+	@AfterEach
+	void tearDown() {
+		SecurityContextHolder.clearContext();
+		invalidationBus.close();
+	}
+
+	@Test
+	void firstResponseCarriesETagAndMatchingRevalidationGets304WithoutController() throws Exception {
+		authenticateAs("alice", "ROLE_USER");
+
+		MockHttpServletResponse first = get(null);
+		String etag = first.getHeader(HttpHeaders.ETAG);
+
+		assertThat(first.getStatus()).isEqualTo(200);
+		assertThat(first.getContentAsString()).isEqualTo("profile of alice");
+		assertThat(etag).isNotBlank();
+
+		MockHttpServletResponse second = get(etag);
+
+		assertThat(second.getStatus()).isEqualTo(304);
+		assertThat(second.getContentAsByteArray()).isEmpty();
+		assertThat(second.getHeader(HttpHeaders.ETAG)).isEqualTo(etag);
+		assertThat(controllerCalls).hasValue(1);
+	}
+
+	@Test
+	void cachedBodyIsServedWhenETagDoesNotMatch() throws Exception {
+		authenticateAs("alice", "ROLE_USER");
+		get(null);
+
+		MockHttpServletResponse response = get("\"0stale\"");
+
+		assertThat(response.getStatus()).isEqualTo(200);
+		assertThat(response.getContentAsString()).isEqualTo("profile of alice");
+		assertThat(controllerCalls).hasValue(1);
+	}
+
+	@Test
+	void cachedResponseIsNotReusedAcrossPrincipals() throws Exception {
+		authenticateAs("alice", "ROLE_USER");
+		String aliceEtag = get(null).getHeader(HttpHeaders.ETAG);
+
+		authenticateAs("bob", "ROLE_USER");
+		MockHttpServletResponse bob = get(aliceEtag);
+
+		assertThat(bob.getStatus()).isEqualTo(200);
+		assertThat(bob.getContentAsString()).isEqualTo("profile of bob");
+		assertThat(controllerCalls).hasValue(2);
+	}
+
+	@Test
+	void cachedResponseIsNotReusedAfterAuthoritiesChange() throws Exception {
+		authenticateAs("alice", "ROLE_USER");
+		get(null);
+
+		authenticateAs("alice", "ROLE_ADMIN");
+		get(null);
+
+		assertThat(controllerCalls).hasValue(2);
+	}
+
+	@Test
+	void userInvalidationEvictsOnlyThatUsersEntries() throws Exception {
+		authenticateAs("alice", "ROLE_USER");
+		get(null);
+		authenticateAs("bob", "ROLE_USER");
+		get(null);
+
+		invalidationBus.publish(InvalidationType.USER, "alice");
+
+		get(null);
+		assertThat(controllerCalls).hasValue(2);
+		authenticateAs("alice", "ROLE_USER");
+		get(null);
+		assertThat(controllerCalls).hasValue(3);
+	}
+
+	@Test
+	void anonymousRequestsAreNotCached() throws Exception {
+		get(null);
+		get(null);
+
+		assertThat(controllerCalls).hasValue(2);
+	}
+
+	private MockHttpServletResponse get(String ifNoneMatch) throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", PATH);
+		if (ifNoneMatch != null) {
+			request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+		}
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		filter.doFilter(request, response, controller());
+		return response;
+	}
+
+	private FilterChain controller() {
+		return (request, response) -> {
+			controllerCalls.incrementAndGet();
+			String name = SecurityContextHolder.getContext().getAuthentication() == null
+					? "anonymous" : SecurityContextHolder.getContext().getAuthentication().getName();
+			response.setContentType("text/plain");
+			response.getOutputStream().write(("profile of " + name).getBytes(StandardCharsets.UTF_8));
+		};
+	}
+
+	private static void authenticateAs(String username, String authority) {
+		SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+				username, null, List.of(new SimpleGrantedAuthority(authority))));
+	}
+
+}
@@ -0,0 +1,101 @@
+package com.codewithprojects.springsecurity.config;
+
+import com.codewithprojects.springsecurity.audit.AuthAuditProperties;
+import com.codewithprojects.springsecurity.audit.AuthAuditPublisher;
+import com.codewithprojects.springsecurity.entities.Role;
+import com.codewithprojects.springsecurity.entities.User;
+import com.codewithprojects.springsecurity.service.UserService;
+import com.codewithprojects.springsecurity.service.impl.JWTServiceImpl;
+import com.codewithprojects.springsecurity.support.JwtTestFixture;
+import com.codewithprojects.springsecurity.tracing.AuthLatencyTracer;
+import com.codewithprojects.springsecurity.tracing.AuthTracingProperties;
+import io.jsonwebtoken.Claims;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.time.Clock;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class JwtAuthenticationFilterTest {
+
+	private JwtTestFixture fixture;
+	private JWTServiceImpl jwtService;
+	private JwtAuthenticationFilter filter;
+	private User user;
+
+	@BeforeEach
+	void setUp() {
+		fixture = new JwtTestFixture(Clock.systemUTC());
+		jwtService = spy(fixture.jwtService());
+
+		user = new User();
+		user.setEmail("user@example.com");
+		user.setRole(Role.USER);
+		UserService userService = mock(UserService.class);
+		when(userService.userDetailsService()).thenReturn(username -> user);
+
+		filter = new JwtAuthenticationFilter(jwtService, userService,
+				new AuthLatencyTracer(new AuthTracingProperties(),
+						new StaticListableBeanFactory().getBeanProvider(ObservationRegistry.class)),
+				new AuthAuditPublisher(new AuthAuditProperties(), batch -> {
+				}));
+	}
+
+	@AfterEach
+	void tearDown() {
+		SecurityContextHolder.clearContext();
+		fixture.close();
+	}
+
+	@Test
+	void validTokenIsVerifiedOnceAndAuthenticatesRequest() throws Exception {
+		String token = jwtService.generateAccessToken(user);
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/user");
+		request.addHeader("Authorization", "Bearer " + token);
+		AtomicReference<Authentication> seen = new AtomicReference<>();
+
+		filter.doFilter(request, new MockHttpServletResponse(),
+				(req, res) -> seen.set(SecurityContextHolder.getContext().getAuthentication()));
+
+		assertThat(seen.get()).isNotNull();
+		assertThat(seen.get().getName()).isEqualTo("user@example.com");
+		verify(jwtService, times(1)).parseToken(token);
+		verify(jwtService, never()).extractUserName(anyString());
+		verify(jwtService, never()).isTokenValid(anyString(), any(UserDetails.class));
+		verify(jwtService, times(1)).isTokenValid(any(Claims.class), any(UserDetails.class));
+	}
+
+	@Test
+	void revokedTokenDoesNotAuthenticate() throws Exception {
+		String token = jwtService.generateAccessToken(user);
+		Thread.sleep(2);
+		jwtService.revokeTokens("user@example.com");
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/user");
+		request.addHeader("Authorization", "Bearer " + token);
+		AtomicReference<Authentication> seen = new AtomicReference<>();
+
+		filter.doFilter(request, new MockHttpServletResponse(),
+				(req, res) -> seen.set(SecurityContextHolder.getContext().getAuthentication()));
+
+		assertThat(seen.get()).isNull();
+	}
+
+}
@@ -0,0 +1,94 @@
+package com.codewithprojects.springsecurity.config;
+
+import com.codewithprojects.springsecurity.entities.Role;
+import com.codewithprojects.springsecurity.entities.User;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PathAuthorizationManagerTest {
+
+	private final PathAuthorizationManager manager = new SecurityConfriguration(null, null).pathAuthorizationManager();
+
+	@ParameterizedTest
+	@ValueSource(strings = {"/api/v1/admin", "/api/v1/%61dmin", "/api/v1/%61%64%6D%69%6E", "/api/v1/ad%6Din"})
+	void userIsDeniedAdminPathIncludingEncodedForms(String uri) {
+		assertThat(check(authenticated(Role.USER), uri).isGranted()).isFalse();
+	}
+
+	@ParameterizedTest
+	@ValueSource(strings = {"/api/v1/admin", "/api/v1/%61dmin"})
+	void adminIsGrantedAdminPath(String uri) {
+		assertThat(check(authenticated(Role.ADMIN), uri).isGranted()).isTrue();
+	}
+
+	@Test
+	void adminIsDeniedUserPath() {
+		assertThat(check(authenticated(Role.ADMIN), "/api/v1/user").isGranted()).isFalse();
+		assertThat(check(authenticated(Role.ADMIN), "/api/v1/%75ser").isGranted()).isFalse();
+	}
+
+	@Test
+	void encodedPathIsMatchedUnderContextPath() {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/app/api/v1/%61dmin");
+		request.setContextPath("/app");
+
+		AuthorizationDecision decision = manager.check(() -> authenticated(Role.USER),
+				new RequestAuthorizationContext(request));
+
+		assertThat(decision.isGranted()).isFalse();
+	}
+
+	@Test
+	void unlistedPathOnlyRequiresAuthentication() {
+		assertThat(check(authenticated(Role.USER), "/api/v1/user/logout").isGranted()).isTrue();
+		assertThat(check(new AnonymousAuthenticationToken("key", "anonymous",
+				List.of(new SimpleGrantedAuthority("ROLE_ANONYMOUS"))), "/api/v1/user/logout").isGranted()).isFalse();
+	}
+
+	@Test
+	void rolesAreReadFromAuthoritiesWhenPrincipalIsNotUserEntity() {
+		Authentication token = new UsernamePasswordAuthenticationToken("admin@example.com", null,
+				List.of(Role.ADMIN.getAuthority()));
+
+		assertThat(check(token, "/api/v1/admin").isGranted()).isTrue();
+	}
+
+	@Test
+	void firstMatchingRuleWins() {
+		Map<String, Integer> masks = new LinkedHashMap<>();
+		masks.put("/api/v1/admin/public", Role.USER.getMask());
+		masks.put("/api/v1/admin/**", Role.ADMIN.getMask());
+		PathAuthorizationManager ordered = new PathAuthorizationManager(masks);
+
+		assertThat(ordered.check(() -> authenticated(Role.USER),
+				new RequestAuthorizationContext(new MockHttpServletRequest("GET", "/api/v1/admin/public"))).isGranted()).isTrue();
+		assertThat(ordered.check(() -> authenticated(Role.USER),
+				new RequestAuthorizationContext(new MockHttpServletRequest("GET", "/api/v1/admin/%70rivate"))).isGranted()).isFalse();
+	}
+
+	private AuthorizationDecision check(Authentication authentication, String uri) {
+		return manager.check(() -> authentication, new RequestAuthorizationContext(new MockHttpServletRequest("GET", uri)));
+	}
+
+	private static Authentication authenticated(Role role) {
+		User user = new User();
+		user.setEmail(role.name().toLowerCase() + "@example.com");
+		user.setRole(role);
+		return new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities());
+	}
+
+}
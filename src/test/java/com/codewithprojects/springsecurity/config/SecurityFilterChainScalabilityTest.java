@@ -0,0 +1,394 @@
+package com.codewithprojects.springsecurity.config;
+
+import com.codewithprojects.springsecurity.audit.AuthAuditProperties;
+import com.codewithprojects.springsecurity.audit.AuthAuditPublisher;
+import com.codewithprojects.springsecurity.cache.AuthorizedResponseCache;
+import com.codewithprojects.springsecurity.cache.ConditionalResponseCacheFilter;
+import com.codewithprojects.springsecurity.cache.ResponseCacheProperties;
+import com.codewithprojects.springsecurity.entities.Role;
+import com.codewithprojects.springsecurity.entities.User;
+import com.codewithprojects.springsecurity.service.UserService;
+import com.codewithprojects.springsecurity.service.impl.JWTServiceImpl;
+import com.codewithprojects.springsecurity.support.JwtTestFixture;
+import com.codewithprojects.springsecurity.tracing.AuthLatencyTracer;
+import com.codewithprojects.springsecurity.tracing.AuthTracingProperties;
+import io.micrometer.observation.ObservationRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.HttpServletResponse;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedClass;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.web.DefaultSecurityFilterChain;
+import org.springframework.security.web.FilterChainProxy;
+import org.springframework.security.web.access.ExceptionTranslationFilter;
+import org.springframework.security.web.access.intercept.AuthorizationFilter;
+import org.springframework.security.web.access.intercept.RequestMatcherDelegatingAuthorizationManager;
+import org.springframework.security.web.authentication.AnonymousAuthenticationFilter;
+import org.springframework.security.web.authentication.Http403ForbiddenEntryPoint;
+import org.springframework.security.web.context.RequestAttributeSecurityContextRepository;
+import org.springframework.security.web.context.SecurityContextHolderFilter;
+import org.springframework.security.web.header.HeaderWriterFilter;
+import org.springframework.security.web.header.writers.CacheControlHeadersWriter;
+import org.springframework.security.web.header.writers.HstsHeaderWriter;
+import org.springframework.security.web.header.writers.XContentTypeOptionsHeaderWriter;
+import org.springframework.security.web.header.writers.XXssProtectionHeaderWriter;
+import org.springframework.security.web.header.writers.frameoptions.XFrameOptionsHeaderWriter;
+import org.springframework.security.web.session.DisableEncodeUrlFilter;
+import org.springframework.security.web.util.matcher.AnyRequestMatcher;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 보안 필터 체인을 1 ~ N 개 스레드로 구동하여 처리량이 코어 수에 비례해 늘어나는지 측정합니다.
+ *
+ * 측정 대상은 SecurityConfriguration 이 만드는 체인을 옮긴 FilterChainProxy 로, SecurityContextHolderFilter,
+ * 보안 헤더, JwtAuthenticationFilter, 익명 인증, 예외 변환, PathAuthorizationManager 를 쓰는 AuthorizationFilter 를
+ * 같은 순서로 거칩니다. 그 뒤에는 서블릿 필터로 등록되는 ConditionalResponseCacheFilter 와 작은 JSON 을 쓰는
+ * 컨트롤러 대역이 이어집니다. DB 가 필요한 부분만 고정 사용자로 대체하며, 로그아웃·요청 캐시·세션 필터처럼
+ * 무상태 Bearer GET 요청에서 아무 일도 하지 않는 필터는 생략합니다.
+ *
+ * 스레드 수를 두 배씩 늘려가며 처리량과 스케일링 효율(처리량(n) / (처리량(1) * n))을 기록합니다.
+ * 각 단계는 scalability.runs 번 측정한 처리량의 중앙값을 사용하므로 한 번의 잡음 섞인 측정으로 실패하지 않습니다.
+ * 효율이 기준 미만이면 실패하며, 기준은 scalability.baseline 파일이 있으면 그 파일에 저장된 단계별 효율에서
+ * scalability.tolerance 를 뺀 값, 없으면 scalability.minEfficiency 입니다.
+ * 각 단계는 JFR 로 모니터 대기, park, 할당 샘플을 기록하며 요약 리포트, .jfr 파일, 이번 측정의 효율
+ * (baseline.properties, 다음 비교의 기준으로 저장 가능)을 scalability.outputDir 에 남깁니다.
+ *
+ * 벽시계 시간에 의존하므로 기본 test 와 check 에는 포함되지 않습니다. 빌드를 막는 게이트로는 전용 장비의 CI 작업에서
+ * 저장소에 보관한 기준 파일과 함께 실행하며, -Pscalability.gate 를 주면 check 가 이 작업에 의존하여 실패 시 빌드가 실패합니다.
+ * <pre>
+ * ./gradlew check -Pscalability.gate -Pscalability.runs=5 -Pscalability.baseline=perf/scalability-baseline.properties
+ * </pre>
+ * 설정: scalability.maxThreads (기본: 코어 수), scalability.durationMs, scalability.warmupMs, scalability.runs,
+ * scalability.minEfficiency, scalability.baseline, scalability.tolerance, scalability.outputDir
+ */
+@Tag("scalability")
+class SecurityFilterChainScalabilityTest {
+
+	private static final int MAX_THREADS = Integer.getInteger("scalability.maxThreads",
+			Runtime.getRuntime().availableProcessors());
+	private static final long DURATION_MS = Long.getLong("scalability.durationMs", 2_000);
+	private static final long WARMUP_MS = Long.getLong("scalability.warmupMs", 3_000);
+	private static final int RUNS = Math.max(1, Integer.getInteger("scalability.runs", 3));
+	private static final double MIN_EFFICIENCY = Double.parseDouble(System.getProperty("scalability.minEfficiency", "0.4"));
+	private static final String BASELINE = System.getProperty("scalability.baseline");
+	private static final double TOLERANCE = Double.parseDouble(System.getProperty("scalability.tolerance", "0.15"));
+	private static final Path OUTPUT_DIR = Path.of(System.getProperty("scalability.outputDir", "build/scalability"));
+
+	private static final int TOP_ENTRIES = 5;
+
+	private static final String PATH = "/api/v1/user";
+	private static final String BODY = "{\"email\":\"user@example.com\"}";
+
+	private FilterChainProxy securityFilterChain;
+	private ConditionalResponseCacheFilter responseCacheFilter;
+	private final AtomicInteger controllerCalls = new AtomicInteger();
+	private JwtTestFixture fixture;
+	private String authorizationHeader;
+
+	@BeforeEach
+	void setUp() {
+		fixture = new JwtTestFixture(Clock.systemUTC());
+		JWTServiceImpl jwtService = fixture.jwtService();
+
+		User user = new User();
+		user.setId(1L);
+		user.setEmail("user@example.com");
+		user.setRole(Role.USER);
+		UserDetailsService userDetailsService = username -> user;
+		UserService userService = new UserService() {
+			@Override
+			public UserDetailsService userDetailsService() {
+				return userDetailsService;
+			}
+
+			@Override
+			public void evictUser(String email) {
+			}
+		};
+
+		AuthLatencyTracer tracer = new AuthLatencyTracer(new AuthTracingProperties(),
+				new StaticListableBeanFactory().getBeanProvider(ObservationRegistry.class));
+		AuthAuditPublisher auditPublisher = new AuthAuditPublisher(new AuthAuditProperties(), batch -> {
+		});
+
+		JwtAuthenticationFilter jwtAuthenticationFilter = new JwtAuthenticationFilter(jwtService, userService, tracer, auditPublisher);
+		securityFilterChain = securityFilterChain(jwtAuthenticationFilter);
+
+		ResponseCacheProperties cacheProperties = new ResponseCacheProperties();
+		responseCacheFilter = new ConditionalResponseCacheFilter(cacheProperties,
+				new AuthorizedResponseCache(cacheProperties, fixture.invalidationBus()));
+		authorizationHeader = "Bearer " + jwtService.generateAccessToken(user);
+	}
+
+	/**
+	 * SecurityConfriguration.securityFilterChain 이 구성하는 필터를 같은 순서로 조립합니다.
+	 */
+	private static FilterChainProxy securityFilterChain(JwtAuthenticationFilter jwtAuthenticationFilter) {
+		RequestMatcherDelegatingAuthorizationManager authorizationManager = RequestMatcherDelegatingAuthorizationManager.builder()
+				.add(new AntPathRequestMatcher("/api/v1/auth/**"), (authentication, context) -> new AuthorizationDecision(true))
+				.add(new AntPathRequestMatcher("/error"), (authentication, context) -> new AuthorizationDecision(true))
+				.add(AnyRequestMatcher.INSTANCE, new SecurityConfriguration(null, null).pathAuthorizationManager())
+				.build();
+		HeaderWriterFilter headerWriterFilter = new HeaderWriterFilter(List.of(
+				new XContentTypeOptionsHeaderWriter(), new XXssProtectionHeaderWriter(), new CacheControlHeadersWriter(),
+				new HstsHeaderWriter(), new XFrameOptionsHeaderWriter()));
+		return new FilterChainProxy(new DefaultSecurityFilterChain(AnyRequestMatcher.INSTANCE,
+				new DisableEncodeUrlFilter(),
+				new SecurityContextHolderFilter(new RequestAttributeSecurityContextRepository()),
+				headerWriterFilter,
+				jwtAuthenticationFilter,
+				new AnonymousAuthenticationFilter("scalability"),
+				new ExceptionTranslationFilter(new Http403ForbiddenEntryPoint()),
+				new AuthorizationFilter(authorizationManager)));
+	}
+
+	@AfterEach
+	void tearDown() {
+		fixture.close();
+		SecurityContextHolder.clearContext();
+	}
+
+	@Test
+	void filterThroughputScalesWithThreads() throws Exception {
+		assertChainServesRequest();
+		Files.createDirectories(OUTPUT_DIR);
+
+		// JIT 컴파일이 끝난 상태에서 측정하도록 최대 스레드 수로 먼저 구동합니다.
+		run(MAX_THREADS, WARMUP_MS);
+
+		List<Integer> levels = threadLevels();
+		Properties baseline = loadBaseline();
+		Properties measured = new Properties();
+		Map<Integer, Double> throughput = new HashMap<>();
+		StringBuilder report = new StringBuilder(String.format(Locale.ROOT,
+				"Security filter chain scalability (cores=%d, duration=%dms, runs=%d, baseline=%s)%n",
+				Runtime.getRuntime().availableProcessors(), DURATION_MS, RUNS, BASELINE == null ? "none" : BASELINE));
+		report.append(String.format(Locale.ROOT, "%8s %14s %10s %10s%n", "threads", "median ops/s", "efficiency", "required"));
+		List<String> violations = new ArrayList<>();
+
+		for (int threads : levels) {
+			Path jfrFile = OUTPUT_DIR.resolve("chain-" + threads + "-threads.jfr");
+			double[] samples = new double[RUNS];
+			try (Recording recording = startRecording()) {
+				for (int i = 0; i < RUNS; i++) {
+					samples[i] = run(threads, DURATION_MS) * 1000.0 / DURATION_MS;
+				}
+				recording.stop();
+				recording.dump(jfrFile);
+			}
+			double opsPerSecond = median(samples);
+			throughput.put(threads, opsPerSecond);
+
+			double efficiency = opsPerSecond / (throughput.get(1) * threads);
+			double required = requiredEfficiency(baseline, threads);
+			measured.setProperty(String.valueOf(threads), String.format(Locale.ROOT, "%.3f", efficiency));
+			report.append(String.format(Locale.ROOT, "%8d %14.0f %10.2f %10.2f%n", threads, opsPerSecond, efficiency, required));
+			if (efficiency < required) {
+				violations.add(String.format(Locale.ROOT, "%d threads: efficiency %.2f < %.2f", threads, efficiency, required));
+			}
+			report.append(summarize(jfrFile));
+		}
+
+		String text = report.toString();
+		Files.writeString(OUTPUT_DIR.resolve("report.txt"), text);
+		try (Writer writer = Files.newBufferedWriter(OUTPUT_DIR.resolve("baseline.properties"))) {
+			measured.store(writer, "scaling efficiency per thread count");
+		}
+
+		assertThat(violations).as("sub-linear scaling detected%n%s", text).isEmpty();
+	}
+
+	/**
+	 * 측정 전에 체인이 토큰을 인증·인가하고 응답 캐시까지 거쳐 200 을 돌려주는지, 토큰이 없으면 403 인지 확인하여
+	 * 거부 경로를 측정하지 않도록 합니다.
+	 */
+	private void assertChainServesRequest() throws Exception {
+		MockHttpServletResponse response = serve(request(authorizationHeader));
+		assertThat(response.getStatus()).isEqualTo(HttpServletResponse.SC_OK);
+		assertThat(response.getContentAsString()).isEqualTo(BODY);
+		assertThat(response.getHeader(HttpHeaders.ETAG)).isNotNull();
+		assertThat(controllerCalls).hasValue(1);
+
+		assertThat(serve(request(null)).getStatus()).isEqualTo(HttpServletResponse.SC_FORBIDDEN);
+		assertThat(controllerCalls).hasValue(1);
+	}
+
+	/**
+	 * 주어진 스레드 수로 durationMs 동안 요청을 체인에 반복해서 보냅니다.
+	 *
+	 * @return 모든 스레드가 처리한 요청 수
+	 */
+	private long run(int threads, long durationMs) throws Exception {
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			CountDownLatch start = new CountDownLatch(1);
+			List<Future<Long>> results = new ArrayList<>(threads);
+			for (int i = 0; i < threads; i++) {
+				results.add(executor.submit(() -> {
+					start.await();
+					long deadline = System.nanoTime() + Duration.ofMillis(durationMs).toNanos();
+					long operations = 0;
+					while (System.nanoTime() < deadline) {
+						serve(request(authorizationHeader));
+						operations++;
+					}
+					return operations;
+				}));
+			}
+			start.countDown();
+			long total = 0;
+			for (Future<Long> result : results) {
+				total += result.get();
+			}
+			return total;
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	/**
+	 * 서블릿 컨테이너와 같은 순서(보안 필터 체인 → 응답 캐시 필터 → 컨트롤러)로 요청 하나를 처리합니다.
+	 */
+	private MockHttpServletResponse serve(MockHttpServletRequest request) throws Exception {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		FilterChain controller = (req, res) -> {
+			controllerCalls.incrementAndGet();
+			res.setContentType("application/json");
+			res.getWriter().write(BODY);
+		};
+		try {
+			securityFilterChain.doFilter(request, response,
+					(req, res) -> responseCacheFilter.doFilter(req, res, controller));
+		} finally {
+			SecurityContextHolder.clearContext();
+		}
+		return response;
+	}
+
+	private static MockHttpServletRequest request(String authorization) {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", PATH);
+		request.setServletPath(PATH);
+		if (authorization != null) {
+			request.addHeader(HttpHeaders.AUTHORIZATION, authorization);
+		}
+		return request;
+	}
+
+	/**
+	 * 저장된 기준 효율을 읽습니다. scalability.baseline 이 지정되지 않았으면 빈 Properties 를 반환합니다.
+	 */
+	private static Properties loadBaseline() throws IOException {
+		Properties baseline = new Properties();
+		if (BASELINE != null) {
+			try (Reader reader = Files.newBufferedReader(Path.of(BASELINE))) {
+				baseline.load(reader);
+			}
+		}
+		return baseline;
+	}
+
+	/**
+	 * 스레드 수별 최소 효율. 기준 파일에 해당 스레드 수가 있으면 그 값에서 허용 오차를 뺀 값을 사용합니다.
+	 */
+	private static double requiredEfficiency(Properties baseline, int threads) {
+		String stored = baseline.getProperty(String.valueOf(threads));
+		return stored != null ? Double.parseDouble(stored) - TOLERANCE : MIN_EFFICIENCY;
+	}
+
+	private static double median(double[] samples) {
+		double[] sorted = samples.clone();
+		Arrays.sort(sorted);
+		int middle = sorted.length / 2;
+		return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2;
+	}
+
+	private static List<Integer> threadLevels() {
+		List<Integer> levels = new ArrayList<>();
+		for (int threads = 1; threads < MAX_THREADS; threads *= 2) {
+			levels.add(threads);
+		}
+		levels.add(Math.max(1, MAX_THREADS));
+		return levels;
+	}
+
+	private static Recording startRecording() {
+		Recording recording = new Recording();
+		recording.enable("jdk.JavaMonitorEnter").withThreshold(Duration.ofMillis(1)).withStackTrace();
+		recording.enable("jdk.ThreadPark").withThreshold(Duration.ofMillis(1)).withStackTrace();
+		recording.enable("jdk.ObjectAllocationSample").with("throttle", "150/s");
+		recording.start();
+		return recording;
+	}
+
+	/**
+	 * JFR 기록에서 대기 시간이 긴 모니터/park 대상과 할당량이 큰 클래스를 요약합니다.
+	 */
+	private static String summarize(Path jfrFile) throws IOException {
+		Map<String, Long> blockedNanos = new HashMap<>();
+		Map<String, Long> allocatedBytes = new HashMap<>();
+		for (RecordedEvent event : RecordingFile.readAllEvents(jfrFile)) {
+			switch (event.getEventType().getName()) {
+				case "jdk.JavaMonitorEnter" -> blockedNanos.merge("monitor " + className(event.getClass("monitorClass")),
+						event.getDuration().toNanos(), Long::sum);
+				case "jdk.ThreadPark" -> blockedNanos.merge("park " + className(event.getClass("parkedClass")),
+						event.getDuration().toNanos(), Long::sum);
+				case "jdk.ObjectAllocationSample" -> allocatedBytes.merge(className(event.getClass("objectClass")),
+						event.getLong("weight"), Long::sum);
+				default -> {
+				}
+			}
+		}
+		StringBuilder summary = new StringBuilder();
+		top(blockedNanos).forEach(entry -> summary.append(String.format(Locale.ROOT, "           blocked %-60s %8.1f ms%n",
+				entry.getKey(), entry.getValue() / 1_000_000.0)));
+		top(allocatedBytes).forEach(entry -> summary.append(String.format(Locale.ROOT, "           alloc   %-60s %8.1f MB%n",
+				entry.getKey(), entry.getValue() / (1024.0 * 1024.0))));
+		return summary.toString();
+	}
+
+	private static List<Map.Entry<String, Long>> top(Map<String, Long> values) {
+		return values.entrySet().stream()
+				.sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+				.limit(TOP_ENTRIES)
+				.toList();
+	}
+
+	private static String className(RecordedClass recordedClass) {
+		return recordedClass == null ? "<unknown>" : recordedClass.getName();
+	}
+
+}
@@ -0,0 +1,48 @@
+package com.codewithprojects.springsecurity.controller;
+
+import com.codewithprojects.springsecurity.invalidation.InJvmInvalidationBus;
+import com.codewithprojects.springsecurity.invalidation.InvalidationBus;
+import com.codewithprojects.springsecurity.service.JWTService;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Clock;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserControllerTest {
+
+	private final JWTService jwtService = mock(JWTService.class);
+	private final UsernamePasswordAuthenticationToken authentication =
+			new UsernamePasswordAuthenticationToken("user@example.com", null, List.of());
+
+	@Test
+	void logoutIsRefusedWhenRevocationCannotSurviveRestart() {
+		UserController controller = new UserController(jwtService, new InJvmInvalidationBus(Clock.systemUTC()));
+
+		assertThatThrownBy(() -> controller.logout(authentication))
+				.isInstanceOfSatisfying(ResponseStatusException.class,
+						e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.NOT_IMPLEMENTED));
+		verify(jwtService, never()).revokeTokens(anyString());
+	}
+
+	@Test
+	void logoutRevokesTokensOnDurableBackend() {
+		InvalidationBus durableBus = mock(InvalidationBus.class);
+		when(durableBus.isDurable()).thenReturn(true);
+		UserController controller = new UserController(jwtService, durableBus);
+
+		assertThat(controller.logout(authentication).getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+		verify(jwtService).revokeTokens("user@example.com");
+	}
+
+}
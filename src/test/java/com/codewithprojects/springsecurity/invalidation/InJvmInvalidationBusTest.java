@@ -0,0 +1,77 @@
+package com.codewithprojects.springsecurity.invalidation;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InJvmInvalidationBusTest {
+
+	private InJvmInvalidationBus nodeA;
+	private InJvmInvalidationBus nodeB;
+
+	@BeforeEach
+	void setUp() {
+		nodeA = new InJvmInvalidationBus(Clock.systemUTC());
+		nodeB = new InJvmInvalidationBus(Clock.systemUTC());
+		nodeA.start();
+		nodeB.start();
+	}
+
+	@AfterEach
+	void tearDown() {
+		nodeA.close();
+		nodeB.close();
+	}
+
+	@Test
+	void publishReachesLocalAndRemoteSubscribersOnce() {
+		List<InvalidationEvent> receivedByA = new CopyOnWriteArrayList<>();
+		List<InvalidationEvent> receivedByB = new CopyOnWriteArrayList<>();
+		nodeA.subscribe(receivedByA::add);
+		nodeB.subscribe(receivedByB::add);
+
+		nodeA.publish(InvalidationType.USER, "user@example.com");
+
+		assertThat(receivedByA).hasSize(1);
+		assertThat(receivedByB).singleElement()
+				.satisfies(event -> {
+					assertThat(event.getType()).isEqualTo(InvalidationType.USER);
+					assertThat(event.getKey()).isEqualTo("user@example.com");
+					assertThat(event.getOriginNodeId()).isEqualTo(nodeA.getNodeId());
+				});
+		assertThat(nodeA.stats().getPublished()).isEqualTo(1);
+		assertThat(nodeB.stats().getReceived()).isEqualTo(1);
+	}
+
+	@Test
+	void closedNodeNoLongerReceives() {
+		List<InvalidationEvent> receivedByB = new CopyOnWriteArrayList<>();
+		nodeB.subscribe(receivedByB::add);
+		nodeB.close();
+
+		nodeA.publish(InvalidationType.TENANT, "acme");
+
+		assertThat(receivedByB).isEmpty();
+	}
+
+	@Test
+	void failingListenerDoesNotStopOtherListeners() {
+		List<InvalidationEvent> receivedByB = new CopyOnWriteArrayList<>();
+		nodeB.subscribe(event -> {
+			throw new IllegalStateException("boom");
+		});
+		nodeB.subscribe(receivedByB::add);
+
+		nodeA.publish(InvalidationType.TOKEN_REVOCATION, "user@example.com");
+
+		assertThat(receivedByB).hasSize(1);
+		assertThat(nodeB.stats().getListenerFailures()).isEqualTo(1);
+	}
+
+}
@@ -0,0 +1,147 @@
+package com.codewithprojects.springsecurity.invalidation;
+
+import com.codewithprojects.springsecurity.entities.InvalidationChangeLog;
+import com.codewithprojects.springsecurity.repository.InvalidationChangeLogRepository;
+import com.codewithprojects.springsecurity.support.MutableClock;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class JdbcPollingInvalidationBusTest {
+
+	private final List<InvalidationChangeLog> committed = new CopyOnWriteArrayList<>();
+	private final List<String> delivered = new CopyOnWriteArrayList<>();
+	private final MutableClock clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+
+	private InvalidationChangeLogRepository repository;
+	private InvalidationProperties properties;
+	private JdbcPollingInvalidationBus bus;
+
+	@BeforeEach
+	void setUp() {
+		repository = mock(InvalidationChangeLogRepository.class);
+		when(repository.findByIdGreaterThanOrderByIdAsc(anyLong(), any())).thenAnswer(invocation -> {
+			long after = invocation.getArgument(0);
+			Pageable page = invocation.getArgument(1);
+			return committed.stream()
+					.filter(row -> row.getId() > after)
+					.sorted(Comparator.comparing(InvalidationChangeLog::getId))
+					.limit(page.getPageSize())
+					.toList();
+		});
+		when(repository.findAllById(anyIterable())).thenAnswer(invocation -> {
+			Set<Long> ids = new HashSet<>();
+			invocation.<Iterable<Long>>getArgument(0).forEach(ids::add);
+			return committed.stream().filter(row -> ids.contains(row.getId())).toList();
+		});
+
+		properties = new InvalidationProperties();
+		properties.setPollInterval(Duration.ofHours(1));
+		properties.setBatchSize(2);
+		properties.setGapTimeout(Duration.ofMinutes(1));
+		bus = new JdbcPollingInvalidationBus(repository, properties, clock);
+		bus.subscribe(event -> delivered.add(event.getKey()));
+	}
+
+	@AfterEach
+	void tearDown() {
+		bus.close();
+	}
+
+	@Test
+	void retainedLogIsReplayedBeforeStartReturns() {
+		commit(1, "a@example.com");
+		commit(2, "b@example.com");
+		commit(3, "c@example.com");
+
+		bus.start();
+
+		assertThat(delivered).containsExactly("a@example.com", "b@example.com", "c@example.com");
+		assertThat(bus.stats().getReceived()).isZero();
+	}
+
+	@Test
+	void startFailsWhenReplayCannotReadLog() {
+		when(repository.findByIdGreaterThanOrderByIdAsc(anyLong(), any()))
+				.thenThrow(new DataAccessResourceFailureException("database down"));
+
+		assertThatThrownBy(bus::start).isInstanceOf(DataAccessResourceFailureException.class);
+	}
+
+	@Test
+	void rowCommittedAfterHigherIdIsDeliveredOnLaterPoll() {
+		commit(1, "a@example.com");
+		bus.start();
+
+		commit(3, "c@example.com");
+		bus.pollOnce(false);
+		assertThat(delivered).containsExactly("a@example.com", "c@example.com");
+		assertThat(bus.pendingGapCount()).isEqualTo(1);
+
+		commit(2, "b@example.com");
+		bus.pollOnce(false);
+
+		assertThat(delivered).containsExactly("a@example.com", "c@example.com", "b@example.com");
+		assertThat(bus.pendingGapCount()).isZero();
+	}
+
+	@Test
+	void gapIsAbandonedAfterGapTimeout() {
+		commit(1, "a@example.com");
+		bus.start();
+		commit(3, "c@example.com");
+		bus.pollOnce(false);
+
+		clock.advance(Duration.ofMinutes(2));
+		bus.pollOnce(false);
+
+		assertThat(bus.pendingGapCount()).isZero();
+	}
+
+	@Test
+	void gapsBeforeOldRowsAreNotTracked() {
+		commit(1, "a@example.com");
+		bus.start();
+		InvalidationChangeLog old = row(5, "e@example.com");
+		old.setCreatedAt(clock.millis() - Duration.ofMinutes(10).toMillis());
+		committed.add(old);
+
+		bus.pollOnce(false);
+
+		assertThat(delivered).contains("e@example.com");
+		assertThat(bus.pendingGapCount()).isZero();
+	}
+
+	private void commit(long id, String key) {
+		committed.add(row(id, key));
+	}
+
+	private InvalidationChangeLog row(long id, String key) {
+		InvalidationChangeLog row = new InvalidationChangeLog();
+		row.setId(id);
+		row.setType(InvalidationType.TOKEN_REVOCATION.name());
+		row.setEntryKey(key);
+		row.setOriginNode("other-node");
+		row.setCreatedAt(clock.millis());
+		return row;
+	}
+
+}
@@ -0,0 +1,125 @@
+package com.codewithprojects.springsecurity.service.impl;
+
+import com.codewithprojects.springsecurity.audit.AuthAuditProperties;
+import com.codewithprojects.springsecurity.audit.AuthAuditPublisher;
+import com.codewithprojects.springsecurity.config.JwtProperties;
+import com.codewithprojects.springsecurity.dto.JwtAuthenticationResponse;
+import com.codewithprojects.springsecurity.dto.RefreshTokenRequest;
+import com.codewithprojects.springsecurity.entities.Role;
+import com.codewithprojects.springsecurity.entities.User;
+import com.codewithprojects.springsecurity.repository.UserRepository;
+import com.codewithprojects.springsecurity.signup.EmailExistenceFilter;
+import com.codewithprojects.springsecurity.support.JwtTestFixture;
+import com.codewithprojects.springsecurity.tracing.AuthLatencyTracer;
+import com.codewithprojects.springsecurity.tracing.AuthTracingProperties;
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class AuthenticationImplSlidingRefreshTest {
+
+	private static final Instant ISSUED_AT = Instant.parse("2026-01-01T00:00:00Z");
+	private static final Clock ISSUE_CLOCK = Clock.fixed(ISSUED_AT, ZoneOffset.UTC);
+
+	private JwtTestFixture fixture;
+	private JwtProperties jwtProperties;
+	private UserRepository userRepository;
+	private User user;
+
+	private String accessToken;
+	private String refreshToken;
+
+	@BeforeEach
+	void setUp() {
+		jwtProperties = new JwtProperties();
+		jwtProperties.setAccessTokenTtl(Duration.ofHours(24));
+		jwtProperties.setRefreshTokenTtl(Duration.ofHours(24));
+		jwtProperties.getSliding().setReissueFraction(0.5);
+		fixture = new JwtTestFixture(ISSUE_CLOCK, jwtProperties);
+
+		user = new User();
+		user.setEmail("user@example.com");
+		user.setRole(Role.USER);
+		userRepository = mock(UserRepository.class);
+		when(userRepository.findByEmail("user@example.com")).thenReturn(Optional.of(user));
+
+		JWTServiceImpl issuer = fixture.jwtService();
+		accessToken = issuer.generateAccessToken(user);
+		refreshToken = issuer.generateRefreshToken(new HashMap<>(), user);
+	}
+
+	@AfterEach
+	void tearDown() {
+		fixture.close();
+	}
+
+	@Test
+	void freshTokensAreReturnedWithoutResigning() {
+		jwtProperties.getSliding().setEnabled(true);
+
+		JwtAuthenticationResponse response = refreshAfter(Duration.ofHours(1));
+
+		assertThat(response.getAccessToken()).isEqualTo(accessToken);
+		assertThat(response.getRefreshToken()).isEqualTo(refreshToken);
+	}
+
+	@Test
+	void tokensPastReissueFractionAreResigned() {
+		jwtProperties.getSliding().setEnabled(true);
+
+		JwtAuthenticationResponse response = refreshAfter(Duration.ofHours(13));
+
+		assertThat(response.getAccessToken()).isNotEqualTo(accessToken);
+		assertThat(response.getRefreshToken()).isNotEqualTo(refreshToken);
+	}
+
+	@Test
+	void slidingOffAlwaysIssuesNewAccessTokenAndKeepsRefreshToken() {
+		jwtProperties.getSliding().setEnabled(false);
+
+		JwtAuthenticationResponse response = refreshAfter(Duration.ofHours(1));
+
+		assertThat(response.getAccessToken()).isNotEqualTo(accessToken);
+		assertThat(response.getRefreshToken()).isEqualTo(refreshToken);
+	}
+
+	private JwtAuthenticationResponse refreshAfter(Duration elapsed) {
+		Clock later = Clock.offset(ISSUE_CLOCK, elapsed);
+		AuthenticationImpl authentication = new AuthenticationImpl(
+				userRepository,
+				mock(PasswordEncoder.class),
+				mock(AuthenticationManager.class),
+				fixture.jwtService(later),
+				new AuthLatencyTracer(new AuthTracingProperties(),
+						new StaticListableBeanFactory().getBeanProvider(ObservationRegistry.class)),
+				new AuthAuditPublisher(new AuthAuditProperties(), batch -> {
+				}),
+				jwtProperties,
+				mock(EmailExistenceFilter.class),
+				mock(ApplicationEventPublisher.class));
+
+		RefreshTokenRequest request = new RefreshTokenRequest();
+		request.setRefreshToken(refreshToken);
+		request.setAccessToken(accessToken);
+		JwtAuthenticationResponse response = authentication.refreshToken(request);
+		assertThat(response).isNotNull();
+		return response;
+	}
+
+}
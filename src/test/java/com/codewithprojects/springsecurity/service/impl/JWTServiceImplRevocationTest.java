@@ -0,0 +1,102 @@
+package com.codewithprojects.springsecurity.service.impl;
+
+import com.codewithprojects.springsecurity.config.JwtProperties;
+import com.codewithprojects.springsecurity.entities.Role;
+import com.codewithprojects.springsecurity.entities.User;
+import com.codewithprojects.springsecurity.support.JwtTestFixture;
+import com.codewithprojects.springsecurity.support.MutableClock;
+import com.codewithprojects.springsecurity.tenant.TenantPolicy;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JWTServiceImplRevocationTest {
+
+	private final MutableClock clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+
+	private JwtTestFixture fixture;
+	private JWTServiceImpl jwtService;
+	private User user;
+
+	@BeforeEach
+	void setUp() {
+		JwtProperties jwtProperties = new JwtProperties();
+		jwtProperties.setAccessTokenTtl(Duration.ofHours(1));
+		jwtProperties.setRefreshTokenTtl(Duration.ofHours(24));
+		fixture = new JwtTestFixture(clock, jwtProperties);
+		jwtService = fixture.jwtService();
+
+		user = new User();
+		user.setEmail("user@example.com");
+		user.setRole(Role.USER);
+	}
+
+	@AfterEach
+	void tearDown() {
+		fixture.close();
+	}
+
+	@Test
+	void tokenIssuedInSameSecondAfterRevocationStaysValid() {
+		clock.advance(Duration.ofMillis(100));
+		String beforeLogout = jwtService.generateAccessToken(user);
+		clock.advance(Duration.ofMillis(100));
+		jwtService.revokeTokens(user.getUsername());
+		clock.advance(Duration.ofMillis(100));
+		String afterLogin = jwtService.generateAccessToken(user);
+
+		assertThat(jwtService.isTokenValid(beforeLogout, user)).isFalse();
+		assertThat(jwtService.isTokenValid(afterLogin, user)).isTrue();
+	}
+
+	@Test
+	void legacyTokenWithoutMillisecondClaimIsRevokedWithinSameSecond() {
+		clock.advance(Duration.ofMillis(500));
+		jwtService.revokeTokens(user.getUsername());
+		clock.advance(Duration.ofMillis(100));
+
+		assertThat(jwtService.isTokenValid(legacyToken(clock.millis()), user)).isFalse();
+		assertThat(jwtService.isTokenValid(legacyToken(clock.millis() + 1_000), user)).isTrue();
+	}
+
+	@Test
+	void revocationsOlderThanLongestTokenLifetimeArePurged() {
+		jwtService.revokeTokens("old@example.com");
+		clock.advance(Duration.ofMinutes(30));
+		jwtService.revokeTokens("recent@example.com");
+		assertThat(jwtService.revokedUserCount()).isEqualTo(2);
+
+		clock.advance(Duration.ofHours(24));
+		jwtService.revokeTokens(user.getUsername());
+
+		assertThat(jwtService.revokedUserCount()).isEqualTo(2);
+		clock.advance(Duration.ofMinutes(31));
+		jwtService.revokeTokens("another@example.com");
+
+		assertThat(jwtService.revokedUserCount()).isEqualTo(2);
+	}
+
+	/**
+	 * iat_ms 클레임 없이 초 단위 iat 만 가진, 이전 버전이 발급한 형태의 토큰을 만듭니다.
+	 */
+	private String legacyToken(long issuedAtMillis) {
+		TenantPolicy policy = fixture.tenantPolicyCache().defaultPolicy();
+		return Jwts.builder()
+				.setSubject(user.getUsername())
+				.setIssuer(policy.getIssuer())
+				.setAudience(policy.getAudience())
+				.setIssuedAt(new Date(issuedAtMillis))
+				.setExpiration(new Date(issuedAtMillis + Duration.ofHours(1).toMillis()))
+				.signWith(policy.getSigningKey(), SignatureAlgorithm.HS256)
+				.compact();
+	}
+
+}
@@ -0,0 +1,106 @@
+package com.codewithprojects.springsecurity.service.impl;
+
+import com.codewithprojects.springsecurity.config.JwtProperties;
+import com.codewithprojects.springsecurity.entities.Role;
+import com.codewithprojects.springsecurity.entities.Tenant;
+import com.codewithprojects.springsecurity.entities.User;
+import com.codewithprojects.springsecurity.repository.TenantRepository;
+import com.codewithprojects.springsecurity.support.JwtTestFixture;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Clock;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class JWTServiceImplTenancyTest {
+
+	private JwtTestFixture fixture;
+	private JWTServiceImpl jwtService;
+
+	@BeforeEach
+	void setUp() {
+		Tenant acme = new Tenant();
+		acme.setCode("acme");
+		acme.setIssuer("acme-issuer");
+		acme.setAudience("acme-api");
+		acme.setSigningKey(JwtTestFixture.newSigningKey());
+		TenantRepository tenantRepository = mock(TenantRepository.class);
+		when(tenantRepository.findByCode(anyString())).thenReturn(Optional.empty());
+		when(tenantRepository.findByIssuer(anyString())).thenReturn(Optional.empty());
+		when(tenantRepository.findByCode("acme")).thenReturn(Optional.of(acme));
+		when(tenantRepository.findByIssuer("acme-issuer")).thenReturn(Optional.of(acme));
+		when(tenantRepository.findEnabledCodes()).thenReturn(List.of("acme"));
+		when(tenantRepository.findEnabledIssuers()).thenReturn(List.of("acme-issuer"));
+
+		fixture = new JwtTestFixture(Clock.systemUTC(), new JwtProperties(), tenantRepository);
+		jwtService = fixture.jwtService();
+	}
+
+	@AfterEach
+	void tearDown() {
+		RequestContextHolder.resetRequestAttributes();
+		fixture.close();
+	}
+
+	@Test
+	void tokenIsIssuedForUsersOwnTenantWithoutHeader() {
+		User member = user("member@acme.com", "acme");
+
+		String token = jwtService.generateAccessToken(member);
+
+		assertThat(jwtService.isTokenValid(token, member)).isTrue();
+	}
+
+	@Test
+	void headerForAnotherTenantIsRejectedWithBadRequest() {
+		withTenantHeader("acme");
+
+		assertThatThrownBy(() -> jwtService.generateAccessToken(user("someone@example.com", null)))
+				.isInstanceOfSatisfying(ResponseStatusException.class,
+						e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+	}
+
+	@Test
+	void unknownTenantHeaderIsRejectedWithBadRequest() {
+		withTenantHeader("no-such-tenant");
+
+		assertThatThrownBy(() -> jwtService.generateAccessToken(user("member@acme.com", "acme")))
+				.isInstanceOfSatisfying(ResponseStatusException.class,
+						e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+	}
+
+	@Test
+	void tokenFromAnotherTenantIsNotValidForUser() {
+		String acmeToken = jwtService.generateAccessToken(user("shared@example.com", "acme"));
+
+		assertThat(jwtService.isTokenValid(acmeToken, user("shared@example.com", null))).isFalse();
+	}
+
+	private static void withTenantHeader(String code) {
+		MockHttpServletRequest request = new MockHttpServletRequest();
+		request.addHeader("X-Tenant-ID", code);
+		RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+	}
+
+	private static User user(String email, String tenantCode) {
+		User user = new User();
+		user.setEmail(email);
+		user.setRole(Role.USER);
+		user.setTenantCode(tenantCode);
+		return user;
+	}
+
+}
@@ -0,0 +1,119 @@
+package com.codewithprojects.springsecurity.service.impl;
+
+import com.codewithprojects.springsecurity.config.UserCacheProperties;
+import com.codewithprojects.springsecurity.entities.Role;
+import com.codewithprojects.springsecurity.entities.User;
+import com.codewithprojects.springsecurity.repository.UserRepository;
+import com.codewithprojects.springsecurity.support.JwtTestFixture;
+import com.codewithprojects.springsecurity.support.MutableClock;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * 한 JVM 안의 두 노드(각자 InvalidationBus, UserServiceImpl, JWTServiceImpl 을 가짐)가
+ * 사용자 캐시 무효화와 토큰 폐기를 서로 전파하는지 확인합니다.
+ */
+class MultiNodeInvalidationTest {
+
+	private static final String EMAIL = "user@example.com";
+
+	private final MutableClock clock = new MutableClock(Instant.parse("2026-01-01T00:00:00Z"));
+	private final AtomicReference<User> stored = new AtomicReference<>(user(Role.USER));
+	private final UserRepository userRepository = mock(UserRepository.class);
+	private final UserCacheProperties cacheProperties = new UserCacheProperties();
+
+	private JwtTestFixture nodeA;
+	private JwtTestFixture nodeB;
+	private UserServiceImpl usersA;
+	private UserServiceImpl usersB;
+	private JWTServiceImpl tokensA;
+	private JWTServiceImpl tokensB;
+
+	@BeforeEach
+	void setUp() {
+		when(userRepository.findByEmail(EMAIL)).thenAnswer(invocation -> Optional.of(stored.get()));
+		nodeA = new JwtTestFixture(clock);
+		nodeB = nodeA.anotherNode();
+		usersA = userService(nodeA);
+		usersB = userService(nodeB);
+		tokensA = nodeA.jwtService();
+		tokensB = nodeB.jwtService();
+	}
+
+	@AfterEach
+	void tearDown() {
+		nodeA.close();
+		nodeB.close();
+	}
+
+	@Test
+	void cachedUserIsServedUntilTtlExpires() throws Exception {
+		cacheProperties.setTtl(Duration.ofMillis(200));
+
+		load(usersA);
+		load(usersA);
+		verify(userRepository, times(1)).findByEmail(EMAIL);
+
+		Thread.sleep(300);
+		load(usersA);
+		verify(userRepository, times(2)).findByEmail(EMAIL);
+	}
+
+	@Test
+	void userChangeOnOneNodeEvictsCachedUserOnBothNodes() {
+		assertThat(load(usersA).getRole()).isEqualTo(Role.USER);
+		assertThat(load(usersB).getRole()).isEqualTo(Role.USER);
+
+		stored.set(user(Role.ADMIN));
+		usersA.evictUser(EMAIL);
+
+		assertThat(load(usersA).getRole()).isEqualTo(Role.ADMIN);
+		assertThat(load(usersB).getRole()).isEqualTo(Role.ADMIN);
+		assertThat(nodeB.invalidationBus().stats().getReceived()).isEqualTo(1);
+	}
+
+	@Test
+	void tokenRevokedOnOneNodeIsRejectedOnOther() {
+		User user = stored.get();
+		String token = tokensA.generateAccessToken(user);
+		assertThat(tokensB.isTokenValid(token, user)).isTrue();
+
+		clock.advance(Duration.ofMillis(1));
+		tokensA.revokeTokens(EMAIL);
+
+		assertThat(tokensA.isTokenValid(token, user)).isFalse();
+		assertThat(tokensB.isTokenValid(token, user)).isFalse();
+		clock.advance(Duration.ofMillis(1));
+		assertThat(tokensB.isTokenValid(tokensB.generateAccessToken(user), user)).isTrue();
+	}
+
+	private UserServiceImpl userService(JwtTestFixture node) {
+		UserServiceImpl userService = new UserServiceImpl(userRepository, node.invalidationBus(), cacheProperties);
+		userService.subscribeInvalidations();
+		return userService;
+	}
+
+	private static User load(UserServiceImpl userService) {
+		return (User) userService.userDetailsService().loadUserByUsername(EMAIL);
+	}
+
+	private static User user(Role role) {
+		User user = new User();
+		user.setEmail(EMAIL);
+		user.setRole(role);
+		return user;
+	}
+
+}
@@ -0,0 +1,84 @@
+package com.codewithprojects.springsecurity.service.impl;
+
+import com.codewithprojects.springsecurity.config.UserCacheProperties;
+import com.codewithprojects.springsecurity.entities.Role;
+import com.codewithprojects.springsecurity.entities.User;
+import com.codewithprojects.springsecurity.invalidation.InJvmInvalidationBus;
+import com.codewithprojects.springsecurity.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UserServiceImplTest {
+
+	private InJvmInvalidationBus invalidationBus;
+	private UserRepository userRepository;
+	private UserCacheProperties cacheProperties;
+
+	@BeforeEach
+	void setUp() {
+		invalidationBus = new InJvmInvalidationBus(Clock.systemUTC());
+		invalidationBus.start();
+		userRepository = mock(UserRepository.class);
+		when(userRepository.findByEmail(anyString())).thenAnswer(invocation -> Optional.of(user(invocation.getArgument(0))));
+		cacheProperties = new UserCacheProperties();
+	}
+
+	@AfterEach
+	void tearDown() {
+		invalidationBus.close();
+	}
+
+	@Test
+	void fullCacheKeepsMostEntriesInsteadOfClearing() {
+		cacheProperties.setMaxEntries(100);
+		UserServiceImpl userService = userService();
+
+		for (int i = 0; i <= 100; i++) {
+			userService.userDetailsService().loadUserByUsername("user" + i + "@example.com");
+		}
+
+		assertThat(userService.cachedUserCount()).isGreaterThanOrEqualTo(90);
+		userService.userDetailsService().loadUserByUsername("user100@example.com");
+		userService.userDetailsService().loadUserByUsername("user99@example.com");
+		verify(userRepository, times(1)).findByEmail("user100@example.com");
+		verify(userRepository, times(1)).findByEmail("user99@example.com");
+	}
+
+	@Test
+	void oldestEntriesAreEvictedFirst() {
+		cacheProperties.setMaxEntries(100);
+		UserServiceImpl userService = userService();
+		for (int i = 0; i <= 100; i++) {
+			userService.userDetailsService().loadUserByUsername("user" + i + "@example.com");
+		}
+
+		userService.userDetailsService().loadUserByUsername("user0@example.com");
+
+		verify(userRepository, times(2)).findByEmail("user0@example.com");
+	}
+
+	private UserServiceImpl userService() {
+		UserServiceImpl userService = new UserServiceImpl(userRepository, invalidationBus, cacheProperties);
+		userService.subscribeInvalidations();
+		return userService;
+	}
+
+	private static User user(String email) {
+		User user = new User();
+		user.setEmail(email);
+		user.setRole(Role.USER);
+		return user;
+	}
+
+}
@@ -0,0 +1,106 @@
+package com.codewithprojects.springsecurity.signup;
+
+import com.codewithprojects.springsecurity.repository.UserRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class EmailExistenceFilterTest {
+
+	@Test
+	void everyEmailMightExistBeforeWarmUp() {
+		EmailExistenceFilter filter = filter(1_000, 0.01, List.of());
+
+		assertThat(filter.mightContain("nobody@example.com")).isTrue();
+	}
+
+	@Test
+	void warmUpLoadsExistingEmailsWithoutFalseNegatives() {
+		List<String> existing = emails("existing", 5_000);
+		EmailExistenceFilter filter = filter(10_000, 0.01, existing);
+
+		filter.warmUp();
+
+		assertThat(existing).allMatch(filter::mightContain);
+	}
+
+	@Test
+	void lookupIgnoresCaseAndSurroundingWhitespace() {
+		EmailExistenceFilter filter = filter(1_000, 0.01, List.of("User@Example.com"));
+		filter.warmUp();
+
+		assertThat(filter.mightContain(" user@example.COM ")).isTrue();
+	}
+
+	@Test
+	void falsePositiveRateStaysNearTargetAtExpectedLoad() {
+		int expected = 20_000;
+		EmailExistenceFilter filter = filter(expected, 0.01, emails("member", expected));
+		filter.warmUp();
+
+		long falsePositives = IntStream.range(0, 100_000)
+				.filter(i -> filter.mightContain("stranger" + i + "@example.com"))
+				.count();
+
+		assertThat(falsePositives / 100_000.0).isLessThan(0.02);
+	}
+
+	@Test
+	void concurrentPutsNeverLoseBits() throws Exception {
+		int threads = 8;
+		int perThread = 5_000;
+		EmailExistenceFilter filter = filter(threads * perThread, 0.01, List.of());
+		filter.warmUp();
+
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		CountDownLatch start = new CountDownLatch(1);
+		List<Future<?>> futures = new ArrayList<>();
+		for (int t = 0; t < threads; t++) {
+			List<String> batch = emails("thread" + t + "-", perThread);
+			futures.add(executor.submit(() -> {
+				start.await();
+				batch.forEach(filter::put);
+				return null;
+			}));
+		}
+		start.countDown();
+		for (Future<?> future : futures) {
+			future.get();
+		}
+		executor.shutdown();
+
+		for (int t = 0; t < threads; t++) {
+			assertThat(emails("thread" + t + "-", perThread)).allMatch(filter::mightContain);
+		}
+	}
+
+	private static EmailExistenceFilter filter(int expectedUsers, double falsePositiveRate, List<String> existing) {
+		UserRepository userRepository = mock(UserRepository.class);
+		when(userRepository.streamAllEmails()).thenAnswer(invocation -> existing.stream());
+		TransactionTemplate transactionTemplate = mock(TransactionTemplate.class);
+		when(transactionTemplate.execute(any())).thenAnswer(
+				invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+		SignUpProperties properties = new SignUpProperties();
+		properties.setExpectedUsers(expectedUsers);
+		properties.setFalsePositiveRate(falsePositiveRate);
+		return new EmailExistenceFilter(userRepository, transactionTemplate, properties);
+	}
+
+	private static List<String> emails(String prefix, int count) {
+		return IntStream.range(0, count).mapToObj(i -> prefix + i + "@example.com").toList();
+	}
+
+}
@@ -0,0 +1,109 @@
+package com.codewithprojects.springsecurity.support;
+
+import com.codewithprojects.springsecurity.config.JwtProperties;
+import com.codewithprojects.springsecurity.invalidation.InJvmInvalidationBus;
+import com.codewithprojects.springsecurity.repository.TenantRepository;
+import com.codewithprojects.springsecurity.service.impl.JWTServiceImpl;
+import com.codewithprojects.springsecurity.tenant.TenancyProperties;
+import com.codewithprojects.springsecurity.tenant.TenantPolicyCache;
+import com.codewithprojects.springsecurity.tenant.TenantResolver;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.io.Encoders;
+import io.jsonwebtoken.security.Keys;
+
+import java.time.Clock;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * JWTServiceImpl 을 실제 구성 요소로 조립하는 테스트 fixture 입니다.
+ *
+ * 시작된 InJvmInvalidationBus 하나, 임의 서명 키를 가진 기본 테넌트, 그 위의 TenantPolicyCache 와 TenantResolver 를 만들고,
+ * 같은 구성 요소를 공유하는 JWTServiceImpl 을 원하는 Clock 으로 만들어 줍니다.
+ * 각 fixture 는 별도의 노드처럼 동작하며, anotherNode() 로 같은 서명 키를 쓰는 다른 노드를 만들어 노드 간 전파를 확인할 수 있습니다.
+ */
+public final class JwtTestFixture implements AutoCloseable {
+
+	private final Clock clock;
+	private final JwtProperties jwtProperties;
+	private final TenantRepository tenantRepository;
+	private final TenancyProperties tenancyProperties;
+	private final InJvmInvalidationBus invalidationBus;
+	private final TenantPolicyCache tenantPolicyCache;
+	private final TenantResolver tenantResolver;
+
+	public JwtTestFixture(Clock clock) {
+		this(clock, new JwtProperties(), mock(TenantRepository.class));
+	}
+
+	public JwtTestFixture(Clock clock, JwtProperties jwtProperties) {
+		this(clock, jwtProperties, mock(TenantRepository.class));
+	}
+
+	/**
+	 * @param clock 버스와 기본 JWTServiceImpl 이 사용할 Clock
+	 * @param jwtProperties 토큰 수명 설정. 기본 테넌트 정책이 생성 시 수명을 읽으므로 미리 설정해 둡니다.
+	 * @param tenantRepository 기본 테넌트 외의 테넌트를 찾을 저장소
+	 */
+	public JwtTestFixture(Clock clock, JwtProperties jwtProperties, TenantRepository tenantRepository) {
+		this(clock, jwtProperties, tenantRepository, newSigningKey());
+	}
+
+	private JwtTestFixture(Clock clock, JwtProperties jwtProperties, TenantRepository tenantRepository, String signingKey) {
+		this.clock = clock;
+		this.jwtProperties = jwtProperties;
+		this.tenantRepository = tenantRepository;
+		this.tenancyProperties = new TenancyProperties();
+		this.tenancyProperties.getDefaultTenant().setSigningKey(signingKey);
+		this.invalidationBus = new InJvmInvalidationBus(clock);
+		this.invalidationBus.start();
+		this.tenantPolicyCache = new TenantPolicyCache(tenantRepository, tenancyProperties, jwtProperties, invalidationBus);
+		this.tenantResolver = new TenantResolver(tenancyProperties);
+	}
+
+	/**
+	 * 같은 설정과 서명 키를 쓰지만 버스와 테넌트 캐시는 따로 가진 다른 노드를 만듭니다.
+	 * 두 노드의 버스는 InJvmInvalidationBus 를 통해 서로 이벤트를 주고받습니다.
+	 */
+	public JwtTestFixture anotherNode() {
+		return new JwtTestFixture(clock, jwtProperties, tenantRepository, tenancyProperties.getDefaultTenant().getSigningKey());
+	}
+
+	/**
+	 * fixture 의 Clock 을 사용하는 JWTServiceImpl 을 만듭니다.
+	 */
+	public JWTServiceImpl jwtService() {
+		return jwtService(clock);
+	}
+
+	/**
+	 * 같은 테넌트 정책과 버스를 공유하되 다른 Clock 을 사용하는 JWTServiceImpl 을 만듭니다.
+	 */
+	public JWTServiceImpl jwtService(Clock clock) {
+		return new JWTServiceImpl(tenantPolicyCache, tenantResolver, jwtProperties, clock, invalidationBus);
+	}
+
+	public JwtProperties jwtProperties() {
+		return jwtProperties;
+	}
+
+	public InJvmInvalidationBus invalidationBus() {
+		return invalidationBus;
+	}
+
+	public TenantPolicyCache tenantPolicyCache() {
+		return tenantPolicyCache;
+	}
+
+	/**
+	 * HS256 에 쓸 수 있는 임의의 Base64 서명 키를 만듭니다.
+	 */
+	public static String newSigningKey() {
+		return Encoders.BASE64.encode(Keys.secretKeyFor(SignatureAlgorithm.HS256).getEncoded());
+	}
+
+	@Override
+	public void close() {
+		invalidationBus.close();
+	}
+}
@@ -0,0 +1,165 @@
+package com.codewithprojects.springsecurity.tenant;
+
+import com.codewithprojects.springsecurity.config.JwtProperties;
+import com.codewithprojects.springsecurity.entities.Tenant;
+import com.codewithprojects.springsecurity.invalidation.InJvmInvalidationBus;
+import com.codewithprojects.springsecurity.repository.TenantRepository;
+import com.codewithprojects.springsecurity.support.JwtTestFixture;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TenantPolicyCacheTest {
+
+	private InJvmInvalidationBus invalidationBus;
+	private TenantRepository tenantRepository;
+	private TenancyProperties properties;
+
+	@BeforeEach
+	void setUp() {
+		invalidationBus = new InJvmInvalidationBus(Clock.systemUTC());
+		invalidationBus.start();
+		tenantRepository = mock(TenantRepository.class);
+		when(tenantRepository.findByCode(anyString())).thenReturn(Optional.empty());
+		when(tenantRepository.findByIssuer(anyString())).thenReturn(Optional.empty());
+		properties = new TenancyProperties();
+		properties.getDefaultTenant().setSigningKey(JwtTestFixture.newSigningKey());
+	}
+
+	@AfterEach
+	void tearDown() {
+		invalidationBus.close();
+	}
+
+	@Test
+	void unknownIssuerIsRejectedWithoutPerIssuerQuery() {
+		TenantPolicyCache cache = cache();
+
+		for (int i = 0; i < 100; i++) {
+			assertThat(cache.forIssuer("forged-" + i)).isEmpty();
+		}
+
+		verify(tenantRepository, never()).findByIssuer(anyString());
+		verify(tenantRepository, times(1)).findEnabledIssuers();
+		assertThat(cache.cachedIssuerCount()).isZero();
+	}
+
+	@Test
+	void knownIssuerIsLoadedOnceAndCached() {
+		register(tenant("acme"));
+		TenantPolicyCache cache = cache();
+
+		assertThat(cache.forIssuer("acme-issuer")).map(TenantPolicy::getCode).hasValue("acme");
+		assertThat(cache.forIssuer("acme-issuer")).isPresent();
+
+		verify(tenantRepository, times(1)).findByIssuer("acme-issuer");
+	}
+
+	@Test
+	void cachedPolicyIsReloadedAfterPolicyTtl() {
+		Tenant acme = tenant("acme");
+		register(acme);
+		properties.setPolicyTtl(Duration.ZERO);
+		TenantPolicyCache cache = cache();
+		assertThat(cache.forIssuer("acme-issuer")).isPresent();
+
+		acme.setEnabled(false);
+
+		assertThat(cache.forIssuer("acme-issuer")).isEmpty();
+	}
+
+	@Test
+	void concurrentMissesForSameIssuerShareOneQuery() throws Exception {
+		Tenant acme = tenant("acme");
+		when(tenantRepository.findEnabledIssuers()).thenReturn(List.of("acme-issuer"));
+		CountDownLatch queryStarted = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		when(tenantRepository.findByIssuer("acme-issuer")).thenAnswer(invocation -> {
+			queryStarted.countDown();
+			release.await();
+			return Optional.of(acme);
+		});
+		TenantPolicyCache cache = cache();
+
+		int threads = 8;
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		List<Future<Optional<TenantPolicy>>> results = new ArrayList<>();
+		results.add(executor.submit(() -> cache.forIssuer("acme-issuer")));
+		queryStarted.await();
+		for (int i = 1; i < threads; i++) {
+			results.add(executor.submit(() -> cache.forIssuer("acme-issuer")));
+		}
+		Thread.sleep(100);
+		release.countDown();
+		for (Future<Optional<TenantPolicy>> result : results) {
+			assertThat(result.get()).isPresent();
+		}
+		executor.shutdown();
+
+		verify(tenantRepository, times(1)).findByIssuer("acme-issuer");
+	}
+
+	@Test
+	void cacheSizeIsBounded() {
+		List<Tenant> tenants = IntStream.range(0, 10).mapToObj(i -> tenant("t" + i)).toList();
+		tenants.forEach(this::register);
+		when(tenantRepository.findEnabledIssuers()).thenReturn(tenants.stream().map(Tenant::getIssuer).toList());
+		properties.setMaxCachedPolicies(4);
+		TenantPolicyCache cache = cache();
+
+		tenants.forEach(tenant -> assertThat(cache.forIssuer(tenant.getIssuer())).isPresent());
+
+		assertThat(cache.cachedIssuerCount()).isLessThanOrEqualTo(4);
+	}
+
+	@Test
+	void invalidationMakesNewTenantVisible() {
+		TenantPolicyCache cache = cache();
+		assertThat(cache.forCode("acme")).isEmpty();
+
+		register(tenant("acme"));
+		cache.invalidate("acme");
+
+		assertThat(cache.forCode("acme")).isPresent();
+	}
+
+	private TenantPolicyCache cache() {
+		return new TenantPolicyCache(tenantRepository, properties, new JwtProperties(), invalidationBus);
+	}
+
+	private void register(Tenant tenant) {
+		when(tenantRepository.findByCode(tenant.getCode())).thenReturn(Optional.of(tenant));
+		when(tenantRepository.findByIssuer(tenant.getIssuer())).thenReturn(Optional.of(tenant));
+		when(tenantRepository.findEnabledCodes()).thenReturn(List.of(tenant.getCode()));
+		when(tenantRepository.findEnabledIssuers()).thenReturn(List.of(tenant.getIssuer()));
+	}
+
+	private static Tenant tenant(String code) {
+		Tenant tenant = new Tenant();
+		tenant.setCode(code);
+		tenant.setIssuer(code + "-issuer");
+		tenant.setAudience(code + "-api");
+		tenant.setSigningKey(JwtTestFixture.newSigningKey());
+		return tenant;
+	}
+
+}
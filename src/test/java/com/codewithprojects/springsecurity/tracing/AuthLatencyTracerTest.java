@@ -0,0 +1,75 @@
+package com.codewithprojects.springsecurity.tracing;
+
+import io.micrometer.observation.ObservationRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AuthLatencyTracerTest {
+
+	@Test
+	void disabledTracerCreatesNoTraceAndStillRunsStages() {
+		AuthLatencyTracer tracer = tracer(new AuthTracingProperties());
+
+		AuthTrace trace = tracer.begin(new MockHttpServletRequest("GET", "/api/v1/user"));
+
+		assertThat(trace).isNull();
+		assertThat(tracer.stage("jwt.verify", () -> "ok")).isEqualTo("ok");
+		tracer.end(null, new MockHttpServletResponse());
+	}
+
+	@Test
+	void enabledTracerRecordsStagesInOrder() throws Exception {
+		AuthTracingProperties properties = new AuthTracingProperties();
+		properties.setEnabled(true);
+		AuthLatencyTracer tracer = tracer(properties);
+
+		AuthTrace trace = tracer.begin(new MockHttpServletRequest("GET", "/api/v1/user"));
+		tracer.stage("jwt.verify", () -> 1);
+		tracer.filterStage("chain", () -> {
+		});
+		tracer.end(trace, new MockHttpServletResponse());
+
+		assertThat(trace.describe(0, 200))
+				.startsWith("GET /api/v1/user status=200")
+				.containsSubsequence("jwt.verify=", "chain=");
+	}
+
+	@Test
+	void stageFailureIsRecordedAndRethrown() {
+		AuthTracingProperties properties = new AuthTracingProperties();
+		properties.setEnabled(true);
+		AuthLatencyTracer tracer = tracer(properties);
+
+		AuthTrace trace = tracer.begin(new MockHttpServletRequest("POST", "/api/v1/auth/signin"));
+		assertThatThrownBy(() -> tracer.stage("signin.authenticate", () -> {
+			throw new IllegalStateException("boom");
+		})).isInstanceOf(IllegalStateException.class);
+		tracer.end(trace, new MockHttpServletResponse());
+
+		assertThat(trace.describe(0, 500)).contains("signin.authenticate=");
+	}
+
+	@Test
+	void endDetachesTraceFromThread() {
+		AuthTracingProperties properties = new AuthTracingProperties();
+		properties.setEnabled(true);
+		AuthLatencyTracer tracer = tracer(properties);
+
+		AuthTrace first = tracer.begin(new MockHttpServletRequest("GET", "/first"));
+		tracer.end(first, new MockHttpServletResponse());
+		tracer.stage("after.end", () -> null);
+
+		assertThat(first.describe(0, 200)).doesNotContain("after.end");
+	}
+
+	private static AuthLatencyTracer tracer(AuthTracingProperties properties) {
+		return new AuthLatencyTracer(properties,
+				new StaticListableBeanFactory().getBeanProvider(ObservationRegistry.class));
+	}
+
+}